@@ -0,0 +1,123 @@
+package org.example.benchmark;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.codahale.metrics.MetricRegistry;
+import org.example.config.ConfigLoader;
+import org.example.db.Database;
+import org.example.db.SerialWriter;
+import org.example.db.SqlDialect;
+import org.example.db.SqliteDialect;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Properties;
+
+/**
+ * Throw-away SQLite database file with the project schema and some seed rows, usable as a {@link Database}.
+ * Dates are stored as epoch milliseconds, the SQLite driver's native date representation.
+ * With a serial writer the file is switched to WAL and writes are group-committed as in the SQLite profile.
+ */
+public class SqliteFixture implements Database, AutoCloseable {
+    private static final String CREATE_WORKER = "CREATE TABLE worker (id INTEGER PRIMARY KEY AUTOINCREMENT, "
+            + "name VARCHAR(1000) NOT NULL, birthday DATE, email VARCHAR(1000) UNIQUE, "
+            + "level VARCHAR(10) NOT NULL, salary INTEGER NOT NULL)";
+    private static final String CREATE_CLIENT = "CREATE TABLE client (id INTEGER PRIMARY KEY AUTOINCREMENT, "
+            + "name VARCHAR(1000) NOT NULL UNIQUE)";
+    private static final String CREATE_PROJECT = "CREATE TABLE project (id INTEGER PRIMARY KEY AUTOINCREMENT, "
+            + "name VARCHAR(1000) UNIQUE, client_id INTEGER NOT NULL, start_date DATE, finish_date DATE, "
+            + "FOREIGN KEY (client_id) REFERENCES client(id) ON DELETE CASCADE)";
+    private static final String CREATE_PROJECT_WORKER = "CREATE TABLE project_worker (project_id INTEGER NOT NULL, "
+            + "worker_id INTEGER NOT NULL, PRIMARY KEY (project_id, worker_id), "
+            + "FOREIGN KEY (project_id) REFERENCES project (id) ON DELETE CASCADE, "
+            + "FOREIGN KEY (worker_id) REFERENCES worker (id) ON DELETE CASCADE)";
+
+    private final Path file;
+    private final HikariDataSource dataSource;
+    private final SqlDialect dialect = new SqliteDialect();
+    private final boolean serialWriter;
+
+    public SqliteFixture(int seedRows) throws IOException, SQLException {
+        this(seedRows, false);
+    }
+
+    public SqliteFixture(int seedRows, boolean serialWriter) throws IOException, SQLException {
+        this.serialWriter = serialWriter;
+        this.file = Files.createTempFile("bench", ".db");
+        HikariConfig config = new HikariConfig();
+        config.setDriverClassName("org.sqlite.JDBC");
+        config.setJdbcUrl("jdbc:sqlite:" + file);
+        config.setMaximumPoolSize(4);
+        this.dataSource = new HikariDataSource(config);
+        createSchema(seedRows);
+    }
+
+    public HikariDataSource getDataSource() {
+        return dataSource;
+    }
+
+    @Override
+    public DataSource createDataSource(ConfigLoader configLoader) {
+        return dataSource;
+    }
+
+    @Override
+    public SqlDialect getDialect() {
+        return dialect;
+    }
+
+    @Override
+    public SerialWriter createWriter(ConfigLoader configLoader, MetricRegistry metricRegistry) {
+        if (!serialWriter) {
+            return null;
+        }
+        Properties properties = new Properties();
+        properties.setProperty("journal_mode", "WAL");
+        properties.setProperty("synchronous", "NORMAL");
+        properties.setProperty("busy_timeout", "5000");
+        return new SerialWriter(() -> DriverManager.getConnection("jdbc:sqlite:" + file, properties),
+                10_000, 500, 5_000, metricRegistry);
+    }
+
+    private void createSchema(int seedRows) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(CREATE_WORKER);
+                statement.execute(CREATE_CLIENT);
+                statement.execute(CREATE_PROJECT);
+                statement.execute(CREATE_PROJECT_WORKER);
+            }
+            connection.setAutoCommit(false);
+            try (PreparedStatement client = connection.prepareStatement("INSERT INTO client (name) VALUES (?)");
+                 PreparedStatement worker = connection.prepareStatement(
+                         "INSERT INTO worker (name, birthday, email, level, salary) VALUES (?, ?, ?, ?, ?)")) {
+                for (int i = 1; i <= seedRows; i++) {
+                    client.setString(1, "Client " + i);
+                    client.addBatch();
+                    worker.setString(1, "Worker " + i);
+                    worker.setLong(2, 946_684_800_000L + i * 86_400_000L);
+                    worker.setString(3, "worker" + i + "@example.com");
+                    worker.setString(4, "Middle");
+                    worker.setInt(5, 1000 + i);
+                    worker.addBatch();
+                }
+                client.executeBatch();
+                worker.executeBatch();
+            }
+            connection.commit();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        dataSource.close();
+        Files.deleteIfExists(file);
+    }
+}
@@ -0,0 +1,51 @@
+package org.example.crud;
+
+import com.codahale.metrics.MetricRegistry;
+import org.example.benchmark.SqliteFixture;
+import org.example.db.ConnectionManager;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Concurrent single-row updates against an embedded SQLite file, with writes either contending for the file
+ * lock on pooled connections (direct) or queued to the group-committing writer (serial).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(8)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ConcurrentWriteBenchmark {
+    private static final int SEED_ROWS = 1000;
+
+    @Param({"direct", "serial"})
+    public String writes;
+
+    private SqliteFixture fixture;
+    private ClientService clientService;
+    private final AtomicLong next = new AtomicLong();
+
+    @Setup
+    public void setUp() throws Exception {
+        fixture = new SqliteFixture(SEED_ROWS, "serial".equals(writes));
+        MetricRegistry metricRegistry = new MetricRegistry();
+        ConnectionManager connectionManager = ConnectionManager.getInstance(fixture, metricRegistry);
+        clientService = new ClientService(connectionManager, metricRegistry);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        fixture.close();
+    }
+
+    @Benchmark
+    public Optional<Long> setName() {
+        long n = next.incrementAndGet();
+        return clientService.setName(n % SEED_ROWS + 1, "Renamed " + n);
+    }
+}
@@ -0,0 +1,71 @@
+package org.example.crud;
+
+import com.codahale.metrics.MetricRegistry;
+import org.example.benchmark.SqliteFixture;
+import org.example.db.ConnectionManager;
+import org.example.model.Client;
+import org.example.model.Page;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full round trips through {@link AbstractGenericService} against an embedded SQLite file.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class CrudBenchmark {
+    private static final int SEED_ROWS = 1000;
+
+    private SqliteFixture fixture;
+    private ClientService clientService;
+    private long nextName;
+    private long nextId;
+
+    @Setup
+    public void setUp() throws Exception {
+        fixture = new SqliteFixture(SEED_ROWS);
+        MetricRegistry metricRegistry = new MetricRegistry();
+        ConnectionManager connectionManager = ConnectionManager.getInstance(fixture, metricRegistry);
+        clientService = new ClientService(connectionManager, metricRegistry);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        fixture.close();
+    }
+
+    @Benchmark
+    public Optional<Client> getById() {
+        nextId = nextId % SEED_ROWS + 1;
+        return clientService.getById(nextId);
+    }
+
+    @Benchmark
+    public Optional<List<Client>> listAll() {
+        return clientService.listAll();
+    }
+
+    @Benchmark
+    public Optional<Page<Client>> listPage() {
+        return clientService.listPage(SEED_ROWS / 2, 50);
+    }
+
+    @Benchmark
+    public Optional<Long> setName() {
+        nextId = nextId % SEED_ROWS + 1;
+        return clientService.setName(nextId, "Renamed " + nextName++);
+    }
+
+    @Benchmark
+    public Optional<Long> createAndDelete() {
+        Optional<List<Long>> ids = clientService.createAll(List.of(new Client("Created " + nextName++)).iterator(), 1);
+        return clientService.deleteById(ids.orElseThrow().get(0));
+    }
+}
@@ -0,0 +1,54 @@
+package org.example.crud;
+
+import com.codahale.metrics.MetricRegistry;
+import org.example.benchmark.SqliteFixture;
+import org.example.db.ConnectionManager;
+import org.example.model.Worker;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.concurrent.TimeUnit;
+
+import static org.example.constants.Constants.GET_WORKER_BY_ID;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class WorkerServiceBenchmark {
+
+    private SqliteFixture fixture;
+    private Connection connection;
+    private PreparedStatement statement;
+    private ResultSet resultSet;
+    private WorkerService workerService;
+
+    @Setup
+    public void setUp() throws Exception {
+        fixture = new SqliteFixture(1);
+        connection = fixture.getDataSource().getConnection();
+        statement = connection.prepareStatement(GET_WORKER_BY_ID);
+        statement.setLong(1, 1L);
+        resultSet = statement.executeQuery();
+        resultSet.next();
+        MetricRegistry metricRegistry = new MetricRegistry();
+        workerService = new WorkerService(ConnectionManager.getInstance(fixture, metricRegistry), metricRegistry);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        resultSet.close();
+        statement.close();
+        connection.close();
+        fixture.close();
+    }
+
+    @Benchmark
+    public Worker createEntityFromResultSet() throws Exception {
+        return workerService.createEntityFromResultSet(resultSet);
+    }
+}
@@ -0,0 +1,92 @@
+package org.example.formatter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateSerializer;
+import org.example.mapper.json.WorkerJsonMapper;
+import org.example.model.Level;
+import org.example.model.Worker;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Scanner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the former per-call mapper with String buffering against the shared registry path.
+ * Run with the gc profiler (enabled in build.gradle) and compare gc.alloc.rate.norm per operation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class JsonAllocationBenchmark {
+
+    private WorkerJsonMapper workerJsonMapper;
+    private Worker worker;
+    private List<Worker> workers;
+    private byte[] body;
+
+    @Setup
+    public void setUp() {
+        workerJsonMapper = new WorkerJsonMapper();
+        worker = new Worker(1L, "Whiskers", LocalDate.of(2015, 6, 1), "whiskers@example.com", Level.TRAINEE, 10000);
+        workers = new ArrayList<>();
+        for (long i = 1; i <= 50; i++) {
+            workers.add(new Worker(i, "Worker " + i, LocalDate.of(2000, 1, 1).plusDays(i),
+                    "worker" + i + "@example.com", Level.MIDDLE, 20000));
+        }
+        body = workerJsonMapper.toJsonBytes(worker);
+    }
+
+    @Benchmark
+    public Worker legacyRead() throws Exception {
+        try (Scanner scanner = new Scanner(new ByteArrayInputStream(body), StandardCharsets.UTF_8)) {
+            String json = scanner.useDelimiter("\\A").next();
+            return legacyMapper().readValue(json, Worker.class);
+        }
+    }
+
+    @Benchmark
+    public Worker sharedRead() {
+        return workerJsonMapper.fromJson(new ByteArrayInputStream(body));
+    }
+
+    @Benchmark
+    public byte[] legacyWrite() throws Exception {
+        return legacyMapper().writeValueAsString(worker).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public byte[] sharedWrite() {
+        return workerJsonMapper.toJsonBytes(worker);
+    }
+
+    @Benchmark
+    public byte[] legacyListWrite() throws Exception {
+        return legacyMapper().writeValueAsString(workers).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public byte[] sharedListWrite() throws Exception {
+        return JsonMapperRegistry.writer().writeValueAsBytes(workers);
+    }
+
+    // What each JSON mapper used to build on every call
+    private static ObjectMapper legacyMapper() {
+        JavaTimeModule module = new JavaTimeModule();
+        module.addSerializer(LocalDate.class, new LocalDateSerializer(DateTimeFormatter.ofPattern("yyyy-MM-dd")));
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModule(module);
+        objectMapper.enable(SerializationFeature.INDENT_OUTPUT);
+        return objectMapper;
+    }
+}
@@ -0,0 +1,62 @@
+package org.example.formatter;
+
+import org.example.benchmark.BenchmarkExchange;
+import org.example.mapper.json.WorkerJsonMapper;
+import org.example.model.Level;
+import org.example.model.Worker;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class JsonFormatterBenchmark {
+
+    private JsonFormatter jsonFormatter;
+    private WorkerJsonMapper workerJsonMapper;
+    private Worker worker;
+    private List<Worker> workers;
+    private BenchmarkExchange postExchange;
+
+    @Setup
+    public void setUp() {
+        jsonFormatter = new JsonFormatter();
+        workerJsonMapper = new WorkerJsonMapper();
+        worker = new Worker(1L, "Whiskers", LocalDate.of(2015, 6, 1), "whiskers@example.com", Level.TRAINEE, 10000);
+        workers = new ArrayList<>();
+        for (long i = 1; i <= 50; i++) {
+            workers.add(new Worker(i, "Worker " + i, LocalDate.of(2000, 1, 1).plusDays(i),
+                    "worker" + i + "@example.com", Level.MIDDLE, 20000));
+        }
+        byte[] body = workerJsonMapper.toJson(worker).getBytes(StandardCharsets.UTF_8);
+        postExchange = new BenchmarkExchange("POST", "/workers", body);
+    }
+
+    @Benchmark
+    public String objectToJson() {
+        return jsonFormatter.objectToJson(worker);
+    }
+
+    @Benchmark
+    public String objectToJsonWithMapper() {
+        return jsonFormatter.objectToJson(worker, workerJsonMapper);
+    }
+
+    @Benchmark
+    public String listToJson() {
+        return jsonFormatter.objectToJson(workers);
+    }
+
+    @Benchmark
+    public Worker jsonToObject() {
+        return jsonFormatter.jsonToObject(postExchange.reset(), workerJsonMapper);
+    }
+}
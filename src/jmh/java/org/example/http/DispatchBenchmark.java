@@ -0,0 +1,151 @@
+package org.example.http;
+
+import org.example.crud.BaseService;
+import org.example.crud.EntityConsumer;
+import org.example.crud.EntityChangeListener;
+import org.example.crud.EntityPatch;
+import org.example.mapper.json.JsonEntityMapper;
+import org.example.model.Client;
+import org.example.model.Page;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the former reflective dispatch of MyHttpServer with the precompiled RouteTable.
+ * Both variants resolve the service for a request path and invoke it; the service itself does no I/O.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class DispatchBenchmark {
+
+    @Param({"/clients", "/clients/42"})
+    private String path;
+
+    private Map<String, BaseService<?>> serviceMap;
+    private RouteTable routeTable;
+    private Object lastResult;
+
+    @Setup
+    public void setUp() {
+        StubClientService service = new StubClientService();
+        serviceMap = Map.of(service.getContextPath(), service);
+        routeTable = new RouteTable(service.getContextPath())
+                .collection("GET", (exchange, id) -> lastResult = service.listAll())
+                .item("GET", (exchange, id) -> lastResult = service.getById(id));
+    }
+
+    @Benchmark
+    public void reflectiveDispatch(Blackhole blackhole) throws Exception {
+        String[] segments = path.split("/");
+        BaseService<?> service = serviceMap.get(segments.length > 1 ? "/" + segments[1] : "");
+        if (segments.length > 2) {
+            Method method = service.getClass().getMethod("getById", long.class);
+            blackhole.consume((Optional<?>) method.invoke(service, Long.parseLong(segments[2])));
+        } else {
+            Method method = service.getClass().getMethod("listAll");
+            blackhole.consume((Optional<?>) method.invoke(service));
+        }
+    }
+
+    @Benchmark
+    public Object routeTableDispatch() throws Exception {
+        routeTable.resolve("GET", path).handle(null, routeTable.idOf(path));
+        return lastResult;
+    }
+
+    private static class StubClientService implements BaseService<Client> {
+        private final Client client = new Client(42L, "Whiskers and Paw Co.");
+        private final Optional<List<Client>> all = Optional.of(List.of(client));
+
+        @Override
+        public String getContextPath() {
+            return "/clients";
+        }
+
+        @Override
+        public JsonEntityMapper<Client> getJsonEntityMapper() {
+            return null;
+        }
+
+        @Override
+        public Optional<Client> create(Client entity) {
+            return Optional.of(entity);
+        }
+
+        @Override
+        public Optional<List<Long>> createAll(Iterator<Client> entities, int chunkSize) {
+            return Optional.of(List.of());
+        }
+
+        @Override
+        public Optional<Client> getById(long id) {
+            return Optional.of(client);
+        }
+
+        @Override
+        public Optional<List<Client>> getByIds(List<Long> ids) {
+            return all;
+        }
+
+        @Override
+        public Optional<List<Client>> listAll() {
+            return all;
+        }
+
+        @Override
+        public Optional<Page<Client>> listPage(long afterId, int limit) {
+            return Optional.of(new Page<>(List.of(client), null));
+        }
+
+        @Override
+        public Optional<Long> streamAll(EntityConsumer<Client> consumer) {
+            return Optional.of(0L);
+        }
+
+        @Override
+        public Optional<Long> streamAll(Connection connection, EntityConsumer<Client> consumer) {
+            return Optional.of(0L);
+        }
+
+        @Override
+        public Optional<Long> setName(long id, String name) {
+            return Optional.of(1L);
+        }
+
+        @Override
+        public Optional<Long> patch(long id, Map<String, Object> changes) {
+            return Optional.of(1L);
+        }
+
+        @Override
+        public Optional<Long> patchAll(List<EntityPatch> patches) {
+            return Optional.of((long) patches.size());
+        }
+
+        @Override
+        public Optional<Long> deleteById(long id) {
+            return Optional.of(1L);
+        }
+
+        @Override
+        public void addChangeListener(EntityChangeListener<? super Client> listener) {
+        }
+
+        @Override
+        public long getVersion() {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package org.example.mapper.dbentity;
+
+import org.example.benchmark.SqliteFixture;
+import org.example.db.SqliteDialect;
+import org.example.model.Level;
+import org.example.model.Worker;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import static org.example.constants.Constants.INSERT_INTO_WORKERS;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class WorkerMapperBenchmark {
+
+    private SqliteFixture fixture;
+    private Connection connection;
+    private PreparedStatement statement;
+    private WorkerMapper workerMapper;
+    private Worker worker;
+
+    @Setup
+    public void setUp() throws Exception {
+        fixture = new SqliteFixture(0);
+        connection = fixture.getDataSource().getConnection();
+        statement = connection.prepareStatement(INSERT_INTO_WORKERS);
+        workerMapper = new WorkerMapper(new SqliteDialect());
+        worker = new Worker("Whiskers", LocalDate.of(2015, 6, 1), "whiskers@example.com", Level.TRAINEE, 10000);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        statement.close();
+        connection.close();
+        fixture.close();
+    }
+
+    @Benchmark
+    public PreparedStatement mapToStatement() throws Exception {
+        workerMapper.mapToStatement(statement, worker);
+        statement.clearParameters();
+        return statement;
+    }
+}
@@ -0,0 +1,78 @@
+package org.example.mapper.json;
+
+import org.example.model.Client;
+import org.example.model.Level;
+import org.example.model.Project;
+import org.example.model.Worker;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class JsonMapperBenchmark {
+
+    private ClientJsonMapper clientJsonMapper;
+    private WorkerJsonMapper workerJsonMapper;
+    private ProjectJsonMapper projectJsonMapper;
+    private Client client;
+    private Worker worker;
+    private Project project;
+    private String clientJson;
+    private String workerJson;
+    private String projectJson;
+
+    @Setup
+    public void setUp() {
+        clientJsonMapper = new ClientJsonMapper();
+        workerJsonMapper = new WorkerJsonMapper();
+        projectJsonMapper = new ProjectJsonMapper();
+        client = new Client(1L, "Whiskers and Paw Co.");
+        worker = new Worker(1L, "Whiskers", LocalDate.of(2015, 6, 1), "whiskers@example.com", Level.TRAINEE, 10000);
+        project = new Project(1L, "Purrfectly Crafted", 1L, LocalDate.of(2023, 1, 1), LocalDate.of(2023, 10, 31));
+        clientJson = clientJsonMapper.toJson(client);
+        workerJson = workerJsonMapper.toJson(worker);
+        projectJson = projectJsonMapper.toJson(project);
+    }
+
+    @Benchmark
+    public String clientToJson() {
+        return clientJsonMapper.toJson(client);
+    }
+
+    @Benchmark
+    public Client clientFromJson() {
+        return clientJsonMapper.fromJson(clientJson);
+    }
+
+    @Benchmark
+    public String workerToJson() {
+        return workerJsonMapper.toJson(worker);
+    }
+
+    @Benchmark
+    public Worker workerFromJson() {
+        return workerJsonMapper.fromJson(workerJson);
+    }
+
+    @Benchmark
+    public String projectToJson() {
+        return projectJsonMapper.toJson(project);
+    }
+
+    @Benchmark
+    public Project projectFromJson() {
+        return projectJsonMapper.fromJson(projectJson);
+    }
+
+    // Services create a new mapper per request, so construction is part of the hot path
+    @Benchmark
+    public WorkerJsonMapper workerMapperConstruction() {
+        return new WorkerJsonMapper();
+    }
+}
@@ -1,30 +1,68 @@
 package org.example;
 
 import com.codahale.metrics.MetricRegistry;
+import org.example.cache.EntityCaches;
+import org.example.config.ConfigLoader;
 import org.example.constants.DatabaseType;
 import org.example.crud.*;
 import org.example.db.*;
 import org.example.formatter.JsonFormatter;
 import org.example.http.HttpServerFactory;
+import org.example.http.ProjectWorkerRoutes;
 import org.example.log.MetricsLogger;
+import org.example.metrics.HdrMetricRegistry;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 
 public class AppLauncher {
 
     public static void main(String[] args) {
-        MetricRegistry metricRegistry = new MetricRegistry();
+        MetricRegistry metricRegistry = new HdrMetricRegistry();
         MetricsLogger.startLogging(metricRegistry);
 
         DatabaseType dbType = DatabaseType.POSTGRES;
         Database database = DatabaseFactory.createDatabase(dbType, metricRegistry);
         ConnectionManager connectionManager = ConnectionManager.getInstance(database, metricRegistry);
-
+        ConfigLoader configLoader = new ConfigLoader();
         // Initialize services
-        ClientService clientService = new ClientService(connectionManager, metricRegistry);
-        WorkerService workerService = new WorkerService(connectionManager, metricRegistry);
-        ProjectService projectService = new ProjectService(connectionManager, metricRegistry);
+        ClientService clientService = new ClientService(connectionManager, metricRegistry,
+                EntityCaches.create("clients", configLoader, metricRegistry));
+        WorkerService workerService = new WorkerService(connectionManager, metricRegistry,
+                EntityCaches.create("workers", configLoader, metricRegistry));
+        ProjectService projectService = new ProjectService(connectionManager, metricRegistry,
+                EntityCaches.create("projects", configLoader, metricRegistry));
+
+        int coalesceWindowMicros = configLoader.getIntProperty("db.coalesce.window.micros", 0);
+        if (coalesceWindowMicros > 0) {
+            Duration window = Duration.ofNanos(coalesceWindowMicros * 1000L);
+            int maxBatchSize = configLoader.getIntProperty("db.coalesce.max.batch.size", 256);
+            clientService.coalesceLookups(window, maxBatchSize);
+            workerService.coalesceLookups(window, maxBatchSize);
+            projectService.coalesceLookups(window, maxBatchSize);
+        }
+
+        boolean writeBehind = Boolean.parseBoolean(configLoader.getProperty("db.write.behind.enabled", "false"));
+        if (writeBehind) {
+            Duration flushInterval = Duration.ofMillis(configLoader.getIntProperty("db.write.behind.flush.ms", 200));
+            int batchSize = configLoader.getIntProperty("db.write.behind.batch.size", 500);
+            clientService.bufferNameUpdates(batchSize, flushInterval);
+            workerService.bufferNameUpdates(batchSize, flushInterval);
+            projectService.bufferNameUpdates(batchSize, flushInterval);
+        }
+        // Buffered renames are flushed first, then queued writes commit before the JVM exits
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            clientService.flushPendingNames();
+            workerService.flushPendingNames();
+            projectService.flushPendingNames();
+            if (connectionManager.getWriter() != null) {
+                connectionManager.getWriter().close();
+            }
+        }));
+
+        ProjectWorkerService projectWorkerService = new ProjectWorkerService(connectionManager, metricRegistry,
+                workerService, projectService);
 
         // Add services to a list
         List<BaseService<?>> services = new ArrayList<>();
@@ -32,9 +70,21 @@ public class AppLauncher {
         services.add(workerService);
         services.add(projectService);
 
+        // Reports are cached until one of the services above commits a write
+        ReportService reportService = new ReportService(connectionManager, metricRegistry,
+                Duration.ofSeconds(configLoader.getIntProperty("reports.cache.ttl.seconds", 300)));
+        services.forEach(reportService::watch);
+        ProjectPriceView projectPriceView = new ProjectPriceView(connectionManager, workerService, projectService, clientService);
+        projectWorkerService.addChangeListener(change -> reportService.invalidate(change.source()));
+        projectWorkerService.addChangeListener(projectPriceView::onAssignmentChange);
+        projectPriceView.load();
+
         // Start HTTP server
         JsonFormatter jsonFormatter = new JsonFormatter();
-        HttpServerFactory httpServerFactory = new HttpServerFactory(services, jsonFormatter);
+        HttpServerFactory httpServerFactory = new HttpServerFactory(services, reportService, projectPriceView,
+                jsonFormatter, configLoader, metricRegistry, connectionManager.getMaximumPoolSize());
+        httpServerFactory.addRoutes(new ProjectWorkerRoutes(projectWorkerService, jsonFormatter));
+        httpServerFactory.setReadsFromPrimary(connectionManager::readsFromPrimary);
         httpServerFactory.startServer();
     }
 }
\ No newline at end of file
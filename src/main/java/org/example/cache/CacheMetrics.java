@@ -0,0 +1,30 @@
+package org.example.cache;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.MetricRegistry;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+public class CacheMetrics {
+    private final Counter hits = new Counter();
+    private final Counter misses = new Counter();
+    private final Counter evictions = new Counter();
+
+    public CacheMetrics(String cacheName, MetricRegistry metricRegistry) {
+        metricRegistry.register(name("cache", cacheName, "hits"), hits);
+        metricRegistry.register(name("cache", cacheName, "misses"), misses);
+        metricRegistry.register(name("cache", cacheName, "evictions"), evictions);
+    }
+
+    public void recordHit() {
+        hits.inc();
+    }
+
+    public void recordMiss() {
+        misses.inc();
+    }
+
+    public void recordEviction() {
+        evictions.inc();
+    }
+}
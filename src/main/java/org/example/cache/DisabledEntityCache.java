@@ -0,0 +1,32 @@
+package org.example.cache;
+
+import java.util.Optional;
+
+final class DisabledEntityCache implements EntityCache<Object> {
+    static final DisabledEntityCache INSTANCE = new DisabledEntityCache();
+
+    private DisabledEntityCache() {
+    }
+
+    @Override
+    public Optional<Object> get(long id) {
+        return Optional.empty();
+    }
+
+    @Override
+    public long stamp() {
+        return 0;
+    }
+
+    @Override
+    public void put(long id, Object entity, long stamp) {
+    }
+
+    @Override
+    public void invalidate(long id) {
+    }
+
+    @Override
+    public void invalidateAll() {
+    }
+}
@@ -0,0 +1,26 @@
+package org.example.cache;
+
+import java.util.Optional;
+
+/**
+ * Read-through cache of entities by ID used by the CRUD services.
+ * <p>
+ * {@link #put} takes the stamp read before the database lookup and skips the write if the cache was
+ * invalidated in between, so a concurrent update can never be overwritten by the stale row read before it.
+ */
+public interface EntityCache<T> {
+    Optional<T> get(long id);
+
+    long stamp();
+
+    void put(long id, T entity, long stamp);
+
+    void invalidate(long id);
+
+    void invalidateAll();
+
+    @SuppressWarnings("unchecked")
+    static <T> EntityCache<T> disabled() {
+        return (EntityCache<T>) DisabledEntityCache.INSTANCE;
+    }
+}
@@ -0,0 +1,36 @@
+package org.example.cache;
+
+import com.codahale.metrics.MetricRegistry;
+import org.example.config.ConfigLoader;
+import org.example.constants.CachePolicy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+
+public final class EntityCaches {
+    private static final Logger logger = LoggerFactory.getLogger(EntityCaches.class);
+    private static final int DEFAULT_MAX_SIZE = 10_000;
+    private static final int DEFAULT_TTL_SECONDS = 60;
+
+    private EntityCaches() {
+    }
+
+    // Reads cache.<name>.* settings, falling back to the shared cache.* ones
+    public static <T> EntityCache<T> create(String cacheName, ConfigLoader configLoader, MetricRegistry metricRegistry) {
+        String prefix = "cache." + cacheName + ".";
+        CachePolicy policy = CachePolicy.fromString(
+                configLoader.getProperty(prefix + "policy", configLoader.getProperty("cache.policy", "none")));
+        int maxSize = configLoader.getIntProperty(prefix + "max.size",
+                configLoader.getIntProperty("cache.max.size", DEFAULT_MAX_SIZE));
+        Duration ttl = Duration.ofSeconds(configLoader.getIntProperty(prefix + "ttl.seconds",
+                configLoader.getIntProperty("cache.ttl.seconds", DEFAULT_TTL_SECONDS)));
+
+        logger.info("Entity cache '{}': policy={}, maxSize={}, ttl={}", cacheName, policy, maxSize, ttl);
+        return switch (policy) {
+            case NONE -> EntityCache.disabled();
+            case LRU -> new LruEntityCache<>(maxSize, ttl, new CacheMetrics(cacheName, metricRegistry));
+            case TINYLFU -> new TinyLfuEntityCache<>(maxSize, ttl, new CacheMetrics(cacheName, metricRegistry));
+        };
+    }
+}
@@ -0,0 +1,77 @@
+package org.example.cache;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Size-bounded LRU cache with a time-to-live, backed by an access-ordered {@link LinkedHashMap}.
+ */
+public class LruEntityCache<T> implements EntityCache<T> {
+    private final int maxSize;
+    private final long ttlNanos;
+    private final CacheMetrics metrics;
+    private final Map<Long, Entry<T>> entries;
+    private long stamp;
+
+    public LruEntityCache(int maxSize, Duration ttl, CacheMetrics metrics) {
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.metrics = metrics;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry<T>> eldest) {
+                boolean evict = size() > LruEntityCache.this.maxSize;
+                if (evict) {
+                    LruEntityCache.this.metrics.recordEviction();
+                }
+                return evict;
+            }
+        };
+    }
+
+    @Override
+    public synchronized Optional<T> get(long id) {
+        Entry<T> entry = entries.get(id);
+        if (entry == null) {
+            metrics.recordMiss();
+            return Optional.empty();
+        }
+        if (System.nanoTime() - entry.createdAt() > ttlNanos) {
+            entries.remove(id);
+            metrics.recordEviction();
+            metrics.recordMiss();
+            return Optional.empty();
+        }
+        metrics.recordHit();
+        return Optional.of(entry.value());
+    }
+
+    @Override
+    public synchronized long stamp() {
+        return stamp;
+    }
+
+    @Override
+    public synchronized void put(long id, T entity, long expectedStamp) {
+        if (expectedStamp == stamp) {
+            entries.put(id, new Entry<>(entity, System.nanoTime()));
+        }
+    }
+
+    @Override
+    public synchronized void invalidate(long id) {
+        stamp++;
+        entries.remove(id);
+    }
+
+    @Override
+    public synchronized void invalidateAll() {
+        stamp++;
+        entries.clear();
+    }
+
+    private record Entry<T>(T value, long createdAt) {
+    }
+}
@@ -0,0 +1,68 @@
+package org.example.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caffeine-backed cache using W-TinyLFU admission, which keeps frequently read IDs
+ * when a burst of one-off lookups would flush them out of a plain LRU.
+ */
+public class TinyLfuEntityCache<T> implements EntityCache<T> {
+    private final Cache<Long, T> cache;
+    private final CacheMetrics metrics;
+    private final AtomicLong stamp = new AtomicLong();
+
+    public TinyLfuEntityCache(int maxSize, Duration ttl, CacheMetrics metrics) {
+        this.metrics = metrics;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .<Long, T>removalListener((id, entity, cause) -> {
+                    if (cause.wasEvicted()) {
+                        metrics.recordEviction();
+                    }
+                })
+                .build();
+    }
+
+    @Override
+    public Optional<T> get(long id) {
+        T entity = cache.getIfPresent(id);
+        if (entity == null) {
+            metrics.recordMiss();
+            return Optional.empty();
+        }
+        metrics.recordHit();
+        return Optional.of(entity);
+    }
+
+    @Override
+    public long stamp() {
+        return stamp.get();
+    }
+
+    @Override
+    public void put(long id, T entity, long expectedStamp) {
+        cache.put(id, entity);
+        // An invalidation that raced with the database read wins: drop what was just written
+        if (stamp.get() != expectedStamp) {
+            cache.invalidate(id);
+        }
+    }
+
+    @Override
+    public void invalidate(long id) {
+        stamp.incrementAndGet();
+        cache.invalidate(id);
+    }
+
+    @Override
+    public void invalidateAll() {
+        stamp.incrementAndGet();
+        cache.invalidateAll();
+    }
+}
@@ -8,6 +8,8 @@ import org.slf4j.LoggerFactory;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 
@@ -70,4 +72,34 @@ public class ConfigLoader {
     public String getDbPassword(DatabaseType dbType) {
         return properties.getProperty(dbType.name().toLowerCase() + ".db.password");
     }
+
+    public String getProperty(String key, String defaultValue) {
+        String value = properties.getProperty(key);
+        return value == null || value.isBlank() ? defaultValue : value.trim();
+    }
+
+    // Comma-separated values; blank entries are skipped
+    public List<String> getListProperty(String key) {
+        String value = getProperty(key, null);
+        if (value == null) {
+            return List.of();
+        }
+        return Arrays.stream(value.split(","))
+                .map(String::trim)
+                .filter(item -> !item.isEmpty())
+                .toList();
+    }
+
+    public int getIntProperty(String key, int defaultValue) {
+        String value = getProperty(key, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            logger.warn("Property '{}' is not a number: '{}', using default {}", key, value, defaultValue);
+            return defaultValue;
+        }
+    }
 }
@@ -0,0 +1,16 @@
+package org.example.constants;
+
+public enum CachePolicy {
+    NONE,
+    LRU,
+    TINYLFU;
+
+    public static CachePolicy fromString(String value) {
+        for (CachePolicy policy : values()) {
+            if (policy.name().equalsIgnoreCase(value)) {
+                return policy;
+            }
+        }
+        throw new IllegalArgumentException("Unknown cache policy: " + value);
+    }
+}
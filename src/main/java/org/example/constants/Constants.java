@@ -25,25 +25,48 @@ public class Constants {
         return databaseType.getSqlDirectory() + fileName;
     }
 
-    // CRUD for Clients table
+    // Paging; MAX_PAGE_SIZE also bounds the IDs of one GET ?ids= request
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 1000;
+    public static final int EXPORT_FETCH_SIZE = 500;
+
+    // CRUD for Clients table; the *_BY_IDS queries are completed with SqlDialect.idInPredicate()
     public static final String LIST_ALL_CLIENTS = "SELECT id, name FROM client LIMIT 50";
+    public static final String LIST_CLIENTS_PAGE = "SELECT id, name FROM client WHERE id > ? ORDER BY id LIMIT ?";
+    public static final String EXPORT_ALL_CLIENTS = "SELECT id, name FROM client ORDER BY id";
     public static final String INSERT_INTO_CLIENTS = "INSERT INTO client (name) VALUES (?)";
     public static final String GET_CLIENT_BY_ID = "SELECT id, name FROM client WHERE id = ?";
+    public static final String GET_CLIENTS_BY_IDS = "SELECT id, name FROM client WHERE ";
     public static final String SET_NEW_CLIENTS_NAME = "UPDATE client SET name = ? WHERE id = ?";
     public static final String DELETE_CLIENT_BY_ID = "DELETE FROM client WHERE id = ?";
 
     // CRUD for Workers table
     public static final String LIST_ALL_WORKERS = "SELECT id, name, birthday, email, level, salary FROM worker LIMIT 50";
+    public static final String LIST_WORKERS_PAGE = "SELECT id, name, birthday, email, level, salary FROM worker WHERE id > ? ORDER BY id LIMIT ?";
+    public static final String EXPORT_ALL_WORKERS = "SELECT id, name, birthday, email, level, salary FROM worker ORDER BY id";
     public static final String INSERT_INTO_WORKERS = "INSERT INTO worker (name, birthday, email, level, salary) VALUES (?, ?, ?, ?, ?)";
     public static final String GET_WORKER_BY_ID = "SELECT id, name, birthday, email, level, salary FROM worker WHERE id = ?";
+    public static final String GET_WORKERS_BY_IDS = "SELECT id, name, birthday, email, level, salary FROM worker WHERE ";
     public static final String SET_NEW_WORKERS_NAME = "UPDATE worker SET name = ? WHERE id = ?";
     public static final String DELETE_WORKER_BY_ID = "DELETE FROM worker WHERE id = ?";
 
     // CRUD for Projects table
     public static final String LIST_ALL_PROJECTS = "SELECT id, name, client_id, start_date, finish_date FROM project LIMIT 50";
+    public static final String LIST_PROJECTS_PAGE = "SELECT id, name, client_id, start_date, finish_date FROM project WHERE id > ? ORDER BY id LIMIT ?";
+    public static final String EXPORT_ALL_PROJECTS = "SELECT id, name, client_id, start_date, finish_date FROM project ORDER BY id";
     public static final String INSERT_INTO_PROJECTS = "INSERT INTO project (name, client_id, start_date, finish_date) VALUES (?, ?, ?, ?)";
     public static final String GET_PROJECT_BY_ID = "SELECT id, name, client_id, start_date, finish_date FROM project WHERE id = ?";
+    public static final String GET_PROJECTS_BY_IDS = "SELECT id, name, client_id, start_date, finish_date FROM project WHERE ";
     public static final String SET_NEW_PROJECTS_NAME = "UPDATE project SET name = ? WHERE id = ?";
     public static final String DELETE_PROJECT_BY_ID = "DELETE FROM project WHERE id = ?";
 
+    // Project assignments
+    public static final String LIST_ALL_PROJECT_WORKERS = "SELECT project_id, worker_id FROM project_worker";
+    public static final String INSERT_PROJECT_WORKER = "INSERT INTO project_worker (project_id, worker_id) VALUES (?, ?) ON CONFLICT DO NOTHING";
+    public static final String DELETE_PROJECT_WORKER = "DELETE FROM project_worker WHERE project_id = ? AND worker_id = ?";
+    public static final String LIST_WORKERS_OF_PROJECT = "SELECT w.id, w.name, w.birthday, w.email, w.level, w.salary FROM worker w " +
+            "JOIN project_worker pw ON pw.worker_id = w.id WHERE pw.project_id = ? ORDER BY w.id";
+    public static final String LIST_PROJECTS_OF_WORKER = "SELECT p.id, p.name, p.client_id, p.start_date, p.finish_date FROM project p " +
+            "JOIN project_worker pw ON pw.project_id = p.id WHERE pw.worker_id = ? ORDER BY p.id";
+
 }
@@ -0,0 +1,16 @@
+package org.example.constants;
+
+public enum ExecutorMode {
+    CACHED,
+    VIRTUAL,
+    BOUNDED;
+
+    public static ExecutorMode fromString(String value) {
+        for (ExecutorMode mode : values()) {
+            if (mode.name().equalsIgnoreCase(value)) {
+                return mode;
+            }
+        }
+        throw new IllegalArgumentException("Unknown executor mode: " + value);
+    }
+}
@@ -0,0 +1,15 @@
+package org.example.constants;
+
+public enum ReplicaRouting {
+    ROUND_ROBIN,
+    LEAST_CONNECTIONS;
+
+    public static ReplicaRouting fromString(String value) {
+        for (ReplicaRouting routing : values()) {
+            if (routing.name().equalsIgnoreCase(value.replace('-', '_'))) {
+                return routing;
+            }
+        }
+        throw new IllegalArgumentException("Unknown replica routing: " + value);
+    }
+}
@@ -0,0 +1,40 @@
+package org.example.constants;
+
+import java.util.Set;
+
+import static org.example.constants.Constants.*;
+
+/**
+ * Analytical reports served under {@code /reports/<path>}. Each report names the services
+ * (by context path) whose writes can change its result; projects cascade from clients,
+ * and {@code /project-workers} stands for worker assignments.
+ */
+public enum Report {
+    MAX_SALARY_WORKER("max-salary-worker", FIND_MAX_SALARY_WORKER_SQL, "/workers"),
+    LONGEST_PROJECT("longest-project", FIND_LONGEST_PROJECT_SQL, "/projects", "/clients"),
+    MAX_PROJECTS_CLIENT("max-projects-client", FIND_MAX_PROJECT_CLIENT_SQL, "/projects", "/clients"),
+    YOUNGEST_ELDEST_WORKERS("youngest-eldest-workers", FIND_YOUNGEST_ELDEST_SQL, "/workers"),
+    PROJECT_PRICES("project-prices", PRINT_PROJECT_PRICES_SQL, "/workers", "/projects", "/clients", "/project-workers");
+
+    private final String path;
+    private final String sqlFile;
+    private final Set<String> sources;
+
+    Report(String path, String sqlFile, String... sources) {
+        this.path = path;
+        this.sqlFile = sqlFile;
+        this.sources = Set.of(sources);
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public String getSqlFile() {
+        return sqlFile;
+    }
+
+    public boolean dependsOn(String source) {
+        return sources.contains(source);
+    }
+}
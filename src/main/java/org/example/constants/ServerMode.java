@@ -0,0 +1,15 @@
+package org.example.constants;
+
+public enum ServerMode {
+    JDK,
+    NIO;
+
+    public static ServerMode fromString(String value) {
+        for (ServerMode mode : values()) {
+            if (mode.name().equalsIgnoreCase(value)) {
+                return mode;
+            }
+        }
+        throw new IllegalArgumentException("Unknown server mode: " + value);
+    }
+}
@@ -0,0 +1,74 @@
+package org.example.constants;
+
+public enum WireFormat {
+    JSON("application/json"),
+    CBOR("application/cbor"),
+    SMILE("application/x-jackson-smile");
+
+    private final String mediaType;
+
+    WireFormat(String mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    // Request bodies without a Content-Type are read as JSON; null means the type is not supported
+    public static WireFormat fromContentType(String contentType) {
+        if (contentType == null || contentType.isBlank()) {
+            return JSON;
+        }
+        return fromMediaType(stripParameters(contentType));
+    }
+
+    // Picks the supported format with the highest q-value, JSON for wildcards; null when none is acceptable
+    public static WireFormat fromAccept(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return JSON;
+        }
+        WireFormat best = null;
+        double bestQuality = 0;
+        for (String range : accept.split(",")) {
+            String mediaRange = stripParameters(range);
+            WireFormat format = mediaRange.equals("*/*") || mediaRange.equals("application/*")
+                    ? JSON
+                    : fromMediaType(mediaRange);
+            double quality = quality(range);
+            if (format != null && quality > bestQuality) {
+                best = format;
+                bestQuality = quality;
+            }
+        }
+        return best;
+    }
+
+    private static WireFormat fromMediaType(String mediaType) {
+        for (WireFormat format : values()) {
+            if (format.mediaType.equalsIgnoreCase(mediaType)) {
+                return format;
+            }
+        }
+        return null;
+    }
+
+    private static String stripParameters(String mediaType) {
+        int semicolon = mediaType.indexOf(';');
+        return (semicolon < 0 ? mediaType : mediaType.substring(0, semicolon)).trim().toLowerCase();
+    }
+
+    private static double quality(String range) {
+        for (String parameter : range.split(";")) {
+            String trimmed = parameter.trim();
+            if (trimmed.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(trimmed.substring(2));
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
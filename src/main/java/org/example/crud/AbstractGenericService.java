@@ -1,69 +1,349 @@
 package org.example.crud;
 
 import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import org.example.cache.EntityCache;
 import org.example.db.ConnectionManager;
+import org.example.db.PoolExhaustedException;
+import org.example.db.PreparedStatementCache;
+import org.example.db.SqlDialect;
+import org.example.db.Writes;
+import org.example.metrics.MetricNames;
+import org.example.model.Identifiable;
+import org.example.model.Page;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.sql.*;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
 
-public abstract class AbstractGenericService<T> implements BaseService<T> {
+import static org.example.constants.Constants.EXPORT_FETCH_SIZE;
+import static org.example.constants.Constants.MAX_PAGE_SIZE;
+
+public abstract class AbstractGenericService<T extends Identifiable> implements BaseService<T> {
     protected final ConnectionManager connectionManager;
     protected final MetricRegistry metricRegistry;
+    protected final EntityCache<T> entityCache;
+    protected final SqlDialect dialect;
+    protected final PreparedStatementCache statementCache;
+    private final Map<String, Timer> queryTimers = new ConcurrentHashMap<>();
+    private final List<EntityChangeListener<? super T>> changeListeners = new CopyOnWriteArrayList<>();
+    private final AtomicLong version = new AtomicLong();
+    // Taken inside each write's transaction while its rows are locked, so for one row it follows commit order
+    private final AtomicLong commitSequence = new AtomicLong();
+    private volatile LookupCoalescer<T> lookupCoalescer;
+    private volatile NameWriteBehind nameWriteBehind;
+    private volatile Map<String, Integer> patchFieldIndex;
+    // UPDATE statements by field set, one bit per position in getPatchFields()
+    private final Map<Long, String> patchSQL = new ConcurrentHashMap<>();
+    private static final String QUERY_TIMER = "db.queries";
     private static final Logger logger = LoggerFactory.getLogger(AbstractGenericService.class);
 
     public AbstractGenericService(ConnectionManager connectionManager, MetricRegistry metricRegistry) {
+        this(connectionManager, metricRegistry, EntityCache.disabled());
+    }
+
+    public AbstractGenericService(ConnectionManager connectionManager, MetricRegistry metricRegistry, EntityCache<T> entityCache) {
         this.connectionManager = connectionManager;
         this.metricRegistry = metricRegistry;
+        this.entityCache = entityCache;
+        this.dialect = connectionManager.getDialect();
+        this.statementCache = PreparedStatementCache.getInstance(metricRegistry);
     }
 
     protected abstract String getInsertSQL();
     protected abstract PreparedStatement prepareCreateStatement(PreparedStatement ps, T entity) throws SQLException;
     protected abstract T createEntityFromResultSet(ResultSet rs) throws SQLException;
     protected abstract String getSelectByIdSQL();
+    protected abstract String getSelectByIdsSQL();
     protected abstract String getListAllSQL();
+    protected abstract String getListPageSQL();
+    protected abstract String getExportAllSQL();
     protected abstract String getUpdateNameSQL();
     protected abstract String getDeleteByIdSQL();
+    protected abstract void applyName(T entity, String name);
+    protected abstract String getTableName();
+    // Columns PATCH may change; at most 64, in the order they appear in the generated SET clause
+    protected abstract List<PatchField> getPatchFields();
+
+    // Timers are looked up once per query name, so the labelled name is not rebuilt on every call
+    protected Timer.Context timeQuery(String query) {
+        return queryTimers.computeIfAbsent(query, q -> metricRegistry.timer(
+                MetricNames.tagged(QUERY_TIMER, "service", getContextPath(), "query", q))).time();
+    }
+
+    @Override
+    public void addChangeListener(EntityChangeListener<? super T> listener) {
+        changeListeners.add(listener);
+    }
+
+    /**
+     * Merges getById calls that miss the cache within the window into one batched query,
+     * trading up to one window of latency for far fewer connection checkouts under fan-out load.
+     */
+    public void coalesceLookups(Duration window, int maxBatchSize) {
+        lookupCoalescer = new LookupCoalescer<>(
+                ids -> loadByIds(ids, entityCache.stamp()),
+                window.toNanos(),
+                maxBatchSize,
+                metricRegistry.histogram(MetricNames.tagged("db.coalesced.batch.size", "service", getContextPath())));
+    }
+
+    /**
+     * Buffers renames and writes them in batches (see {@link NameWriteBehind}). Reads through this service see
+     * buffered names right away; queries outside it, such as the reports, see them once they are flushed.
+     */
+    public void bufferNameUpdates(int batchSize, Duration flushInterval) {
+        nameWriteBehind = new NameWriteBehind(getContextPath(), this::writeNames, batchSize, flushInterval,
+                metricRegistry);
+    }
+
+    // Writes every buffered rename and stops buffering; called on shutdown
+    public void flushPendingNames() {
+        NameWriteBehind writeBehind = nameWriteBehind;
+        if (writeBehind == null) {
+            return;
+        }
+        try {
+            writeBehind.close();
+        } catch (SQLException e) {
+            logger.error("Failed to flush buffered renames for {}", getContextPath(), e);
+        }
+    }
+
+    private void writeNames(Map<Long, String> names) throws SQLException {
+        long sequence;
+        try (Timer.Context ignored = timeQuery("setNameBatch")) {
+            sequence = Writes.inTransaction(connectionManager, connection -> {
+                try (PreparedStatement ps = statementCache.prepare(connection, getUpdateNameSQL())) {
+                    for (Map.Entry<Long, String> entry : names.entrySet()) {
+                        ps.setString(1, entry.getValue());
+                        ps.setLong(2, entry.getKey());
+                        ps.addBatch();
+                    }
+                    ps.executeBatch();
+                    return nextSequences(names.size());
+                }
+            });
+        }
+        logger.debug("Flushed {} buffered renames", names.size());
+        // Listeners that re-query the database (reports) only see the names now
+        for (Map.Entry<Long, String> entry : names.entrySet()) {
+            fireChange(EntityChange.Type.UPDATED, entry.getKey(), null, entry.getValue(), sequence++);
+        }
+    }
+
+    // Shows the buffered name, if any, on a row just read from the database
+    private T withPendingName(T entity) {
+        NameWriteBehind writeBehind = nameWriteBehind;
+        if (writeBehind != null && !writeBehind.isEmpty()) {
+            String name = writeBehind.pendingName(entity.getId());
+            if (name != null) {
+                applyName(entity, name);
+            }
+        }
+        return entity;
+    }
+
+    @Override
+    public long getVersion() {
+        return version.get();
+    }
+
+    // First of count consecutive commit sequences; called inside the write's transaction
+    private long nextSequences(int count) {
+        return commitSequence.getAndAdd(count) + 1;
+    }
+
+    // Bumps the version, then notifies listeners; a failing listener is logged and skipped,
+    // it never undoes or fails the committed write
+    protected void fireChange(EntityChange.Type type, long id, T entity, String name, long sequence) {
+        version.incrementAndGet();
+        if (changeListeners.isEmpty()) {
+            return;
+        }
+        EntityChange<T> change = new EntityChange<>(getContextPath(), type, id, entity, name, sequence);
+        for (EntityChangeListener<? super T> listener : changeListeners) {
+            try {
+                listener.onChange(change);
+            } catch (RuntimeException e) {
+                logger.error("Change listener failed for {} {} ID: {}", getContextPath(), type, id, e);
+            }
+        }
+    }
 
     @Override
     public Optional<T> create(T entity) {
-        try (Connection connection = connectionManager.getConnection();
-             PreparedStatement ps = connection.prepareStatement(getInsertSQL(), Statement.RETURN_GENERATED_KEYS)) {
+        try (Timer.Context ignored = timeQuery("create")) {
+            Committed<Optional<T>> created = Writes.inTransaction(connectionManager,
+                    connection -> new Committed<>(insert(connection, entity), nextSequences(1)));
+            created.result().ifPresent(c -> {
+                entityCache.invalidate(c.getId());
+                fireChange(EntityChange.Type.CREATED, c.getId(), c, null, created.sequence());
+            });
+            return created.result();
+        } catch (SQLException e) {
+            logger.error("Error executing create query", e);
+        }
+        return Optional.empty();
+    }
 
+    private Optional<T> insert(Connection connection, T entity) throws SQLException {
+        try (PreparedStatement ps = statementCache.prepare(connection, getInsertSQL(), Statement.RETURN_GENERATED_KEYS)) {
             prepareCreateStatement(ps, entity);
             int affectedRows = ps.executeUpdate();
-            logger.info("Insert query executed, affected rows: {}", affectedRows);
+            logger.debug("Insert query executed, affected rows: {}", affectedRows);
 
             if (affectedRows > 0) {
                 try (ResultSet generatedKeys = ps.getGeneratedKeys()) {
                     if (generatedKeys.next()) {
-                        return Optional.of(createEntityFromResultSet(generatedKeys));
+                        return Optional.of(dialect.returnsInsertedRow()
+                                ? createEntityFromResultSet(generatedKeys)
+                                : selectById(connection, generatedKeys.getLong(1)));
                     }
                 }
             } else {
                 logger.warn("Insert query affected 0 rows.");
             }
+        }
+        return Optional.empty();
+    }
+
+    // Reads back a row whose driver only reported the generated key
+    private T selectById(Connection connection, long id) throws SQLException {
+        try (PreparedStatement ps = statementCache.prepare(connection, getSelectByIdSQL())) {
+            ps.setLong(1, id);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (!rs.next()) {
+                    throw new SQLException("Inserted row not found for ID: " + id);
+                }
+                return createEntityFromResultSet(rs);
+            }
+        }
+    }
+
+    @Override
+    public Optional<List<Long>> createAll(Iterator<T> entities, int chunkSize) {
+        List<Long> ids = new ArrayList<>();
+        // Kept only for listeners, which are told about each row once the batch is committed
+        List<T> inserted = changeListeners.isEmpty() ? null : new ArrayList<>();
+        try (Timer.Context ignored = timeQuery("createAll")) {
+            long sequence = Writes.inTransaction(connectionManager, connection -> {
+                try (PreparedStatement ps = statementCache.prepare(connection, getInsertSQL(), Statement.RETURN_GENERATED_KEYS)) {
+                    boolean batchKeys = dialect.returnsBatchKeys();
+                    int batched = 0;
+                    while (entities.hasNext()) {
+                        T entity = entities.next();
+                        prepareCreateStatement(ps, entity);
+                        if (inserted != null) {
+                            inserted.add(entity);
+                        }
+                        if (!batchKeys) {
+                            // One row at a time, still inside the transaction, so the driver reports every key
+                            ps.executeUpdate();
+                            readGeneratedKeys(ps, 1, ids);
+                            continue;
+                        }
+                        ps.addBatch();
+                        if (++batched == chunkSize) {
+                            executeInsertBatch(ps, batched, ids);
+                            batched = 0;
+                        }
+                    }
+                    if (batched > 0) {
+                        executeInsertBatch(ps, batched, ids);
+                    }
+                }
+                return nextSequences(ids.size());
+            });
+            logger.info("Bulk insert committed, created {} entities", ids.size());
+            if (inserted != null) {
+                for (int i = 0; i < ids.size(); i++) {
+                    fireChange(EntityChange.Type.CREATED, ids.get(i), inserted.get(i), null, sequence + i);
+                }
+            }
+            return Optional.of(ids);
         } catch (SQLException e) {
-            logger.error("Error executing create query", e);
+            logger.error("Error executing bulk insert, transaction rolled back after {} rows", ids.size(), e);
+        } catch (PoolExhaustedException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            logger.error("Invalid bulk insert payload, transaction rolled back after {} rows", ids.size(), e);
         }
         return Optional.empty();
     }
 
+    private void executeInsertBatch(PreparedStatement ps, int batchSize, List<Long> ids) throws SQLException {
+        ps.executeBatch();
+        readGeneratedKeys(ps, batchSize, ids);
+    }
+
+    // Fails the transaction rather than guessing IDs when the driver reports fewer keys than rows
+    private void readGeneratedKeys(PreparedStatement ps, int rows, List<Long> ids) throws SQLException {
+        int read = 0;
+        try (ResultSet generatedKeys = ps.getGeneratedKeys()) {
+            while (generatedKeys.next()) {
+                ids.add(generatedKeys.getLong(1));
+                read++;
+            }
+        }
+        if (read != rows) {
+            throw new SQLException("Driver reported " + read + " generated keys for " + rows + " inserted rows");
+        }
+    }
+
     @Override
     public Optional<T> getById(long id) {
-        try (Connection connection = connectionManager.getConnection();
-             PreparedStatement ps = connection.prepareStatement(getSelectByIdSQL())) {
-            ps.setLong(1, id);
-            ResultSet rs = ps.executeQuery();
+        if (!connectionManager.isStickyToPrimary()) {
+            Optional<T> cached = entityCache.get(id);
+            if (cached.isPresent()) {
+                return cached;
+            }
+        }
 
-            if (rs.next()) {
-                logger.info("Entity found for ID: {}", id);
-                return Optional.of(createEntityFromResultSet(rs));
-            } else {
-                logger.warn("No entity found for ID: {}", id);
+        // The batch reads wherever its leader's thread is routed, so sticky callers must not join one
+        LookupCoalescer<T> coalescer = lookupCoalescer;
+        if (coalescer != null && !connectionManager.isStickyToPrimary()) {
+            try {
+                return coalescer.load(id);
+            } catch (SQLException e) {
+                logger.error("Error executing getById query for ID: {}", id, e);
+                return Optional.empty();
+            }
+        }
+
+        long cacheStamp = entityCache.stamp();
+        try (Timer.Context ignored = timeQuery("getById");
+             Connection connection = connectionManager.getReadConnection();
+             PreparedStatement ps = statementCache.prepare(connection, getSelectByIdSQL())) {
+            ps.setLong(1, id);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) {
+                    logger.debug("Entity found for ID: {}", id);
+                    T entity = withPendingName(createEntityFromResultSet(rs));
+                    // A replica row may predate a write that already invalidated the cache
+                    if (connectionManager.readsFromPrimary()) {
+                        entityCache.put(id, entity, cacheStamp);
+                    }
+                    return Optional.of(entity);
+                } else {
+                    logger.warn("No entity found for ID: {}", id);
+                }
             }
         } catch (SQLException e) {
             logger.error("Error executing getById query for ID: {}", id, e);
@@ -71,21 +351,87 @@ public abstract class AbstractGenericService<T> implements BaseService<T> {
         return Optional.empty();
     }
 
+    // Entities in the order of the requested IDs; unknown IDs and duplicates are left out
+    @Override
+    public Optional<List<T>> getByIds(List<Long> ids) {
+        Set<Long> unique = new LinkedHashSet<>(ids);
+        Map<Long, T> found = new HashMap<>(unique.size() * 2);
+        List<Long> missing = new ArrayList<>(unique.size());
+        if (connectionManager.isStickyToPrimary()) {
+            missing.addAll(unique);
+        } else {
+            for (Long id : unique) {
+                entityCache.get(id).ifPresentOrElse(entity -> found.put(id, entity), () -> missing.add(id));
+            }
+        }
+
+        try {
+            found.putAll(loadByIds(missing, entityCache.stamp()));
+        } catch (SQLException e) {
+            logger.error("Error executing getByIds query for {} IDs", missing.size(), e);
+            return Optional.empty();
+        }
+
+        List<T> results = new ArrayList<>(found.size());
+        for (Long id : unique) {
+            T entity = found.get(id);
+            if (entity != null) {
+                results.add(entity);
+            }
+        }
+        logger.debug("getByIds found {} of {} entities", results.size(), unique.size());
+        return Optional.of(results);
+    }
+
+    // One query per MAX_PAGE_SIZE IDs on a single connection; rows loaded from the primary go into the entity cache
+    private Map<Long, T> loadByIds(List<Long> ids, long cacheStamp) throws SQLException {
+        if (ids.isEmpty()) {
+            return new HashMap<>();
+        }
+        try (Timer.Context ignored = timeQuery("getByIds");
+             Connection connection = connectionManager.getReadConnection()) {
+            return selectByIds(connection, ids, connectionManager.readsFromPrimary(), cacheStamp);
+        }
+    }
+
+    private Map<Long, T> selectByIds(Connection connection, List<Long> ids, boolean cacheRows, long cacheStamp)
+            throws SQLException {
+        Map<Long, T> rows = new HashMap<>(ids.size() * 2);
+        for (int from = 0; from < ids.size(); from += MAX_PAGE_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + MAX_PAGE_SIZE));
+            String sql = getSelectByIdsSQL() + dialect.idInPredicate("id", chunk.size());
+            try (PreparedStatement ps = statementCache.prepare(connection, sql)) {
+                dialect.setIds(connection, ps, 1, chunk);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        T entity = withPendingName(createEntityFromResultSet(rs));
+                        rows.put(entity.getId(), entity);
+                        if (cacheRows) {
+                            entityCache.put(entity.getId(), entity, cacheStamp);
+                        }
+                    }
+                }
+            }
+        }
+        return rows;
+    }
+
     @Override
     public Optional<List<T>> listAll() {
         List<T> results = new ArrayList<>();
-        try (Connection connection = connectionManager.getConnection();
-             PreparedStatement ps = connection.prepareStatement(getListAllSQL());
+        try (Timer.Context ignored = timeQuery("listAll");
+             Connection connection = connectionManager.getReadConnection();
+             PreparedStatement ps = statementCache.prepare(connection, getListAllSQL());
              ResultSet rs = ps.executeQuery()) {
 
             while (rs.next()) {
-                results.add(createEntityFromResultSet(rs));
+                results.add(withPendingName(createEntityFromResultSet(rs)));
             }
 
             if (results.isEmpty()) {
                 logger.warn("No entities found.");
             } else {
-                logger.info("Total entities found: {}", results.size());
+                logger.debug("Total entities found: {}", results.size());
             }
 
             return Optional.of(results);
@@ -95,18 +441,112 @@ public abstract class AbstractGenericService<T> implements BaseService<T> {
         return Optional.empty();
     }
 
+    @Override
+    public Optional<Page<T>> listPage(long afterId, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        List<T> results = new ArrayList<>(pageSize);
+        try (Timer.Context ignored = timeQuery("listPage");
+             Connection connection = connectionManager.getReadConnection();
+             PreparedStatement ps = statementCache.prepare(connection, getListPageSQL())) {
+            ps.setLong(1, afterId);
+            // One extra row tells whether another page follows
+            ps.setInt(2, pageSize + 1);
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    results.add(withPendingName(createEntityFromResultSet(rs)));
+                }
+            }
+
+            Long nextCursor = null;
+            if (results.size() > pageSize) {
+                results.remove(pageSize);
+                nextCursor = results.get(pageSize - 1).getId();
+            }
+            logger.debug("Page after ID {} returned {} entities", afterId, results.size());
+            return Optional.of(new Page<>(results, nextCursor));
+        } catch (SQLException e) {
+            logger.error("Error executing listPage query after ID: {}", afterId, e);
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<Long> streamAll(EntityConsumer<T> consumer) {
+        try (Connection connection = connectionManager.getReadConnection()) {
+            // PostgreSQL only streams with a cursor (honours the fetch size) inside a transaction
+            connection.setAutoCommit(false);
+            try {
+                return streamAll(connection, consumer);
+            } finally {
+                connection.commit();
+            }
+        } catch (SQLException e) {
+            logger.error("Error opening connection for export", e);
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<Long> streamAll(Connection connection, EntityConsumer<T> consumer) {
+        long count = 0;
+        try (Timer.Context ignored = timeQuery("streamAll");
+             PreparedStatement ps = connection.prepareStatement(getExportAllSQL(),
+                     ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            ps.setFetchSize(EXPORT_FETCH_SIZE);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    consumer.accept(withPendingName(createEntityFromResultSet(rs)));
+                    count++;
+                }
+            }
+            logger.debug("Streamed {} entities", count);
+            return Optional.of(count);
+        } catch (SQLException e) {
+            logger.error("Error executing export query after {} entities", count, e);
+        } catch (IOException e) {
+            logger.warn("Export aborted after {} entities: {}", count, e.getMessage());
+        }
+        return Optional.empty();
+    }
+
     @Override
     public Optional<Long> setName(long id, String name) {
-        logger.info("Updating name for entity ID: {} to '{}'", id, name);
-        try (Connection connection = connectionManager.getConnection();
-             PreparedStatement ps = connection.prepareStatement(getUpdateNameSQL())) {
+        logger.debug("Updating name for entity ID: {} to '{}'", id, name);
+        NameWriteBehind writeBehind = nameWriteBehind;
+        if (writeBehind != null) {
+            // Buffered renames still answer 404 for unknown IDs; the lookup is usually a cache hit
+            if (writeBehind.pendingName(id) == null && getById(id).isEmpty()) {
+                logger.warn("No entity found to update name for ID: {}", id);
+                return Optional.empty();
+            }
+            if (writeBehind.offer(id, name)) {
+                // The flush runs on the scheduler thread, so this client's read-your-writes window starts here
+                connectionManager.recordWrite();
+                entityCache.invalidate(id);
+                // Carries no name: the flush reports it with its commit sequence once it is written
+                fireChange(EntityChange.Type.UPDATED, id, null, null, 0);
+                return Optional.of(1L);
+            }
+            // Refused because the buffer is full or closing: an older name still buffered for this row, or one
+            // being flushed right now, must not land after the direct write below
+            writeBehind.discard(id);
+        }
 
-            ps.setString(1, name);
-            ps.setLong(2, id);
-            int affectedRows = ps.executeUpdate();
+        try (Timer.Context ignored = timeQuery("setName")) {
+            Committed<Integer> updated = Writes.inTransaction(connectionManager, connection -> {
+                try (PreparedStatement ps = statementCache.prepare(connection, getUpdateNameSQL())) {
+                    ps.setString(1, name);
+                    ps.setLong(2, id);
+                    return new Committed<>(ps.executeUpdate(), nextSequences(1));
+                }
+            });
+            int affectedRows = updated.result();
+            entityCache.invalidate(id);
 
             if (affectedRows > 0) {
-                logger.info("Successfully updated name for entity ID: {}", id);
+                logger.debug("Successfully updated name for entity ID: {}", id);
+                fireChange(EntityChange.Type.UPDATED, id, null, name, updated.sequence());
                 return Optional.of((long) affectedRows);
             } else {
                 logger.warn("No entity found to update name for ID: {}", id);
@@ -118,14 +558,168 @@ public abstract class AbstractGenericService<T> implements BaseService<T> {
     }
 
     @Override
-    public Optional<Long> deleteById(long id) {
-        try (Connection connection = connectionManager.getConnection();
-             PreparedStatement ps = connection.prepareStatement(getDeleteByIdSQL())) {
+    public Optional<Long> patch(long id, Map<String, Object> changes) {
+        return patchAll(List.of(new EntityPatch(id, changes))).filter(rows -> rows > 0);
+    }
 
-            ps.setLong(1, id);
-            int affectedRows = ps.executeUpdate();
+    @Override
+    public Optional<Long> patchAll(List<EntityPatch> patches) {
+        // Converted up front: an unknown property or invalid value fails the whole request before a
+        // connection is taken. Patches touching the same fields share one statement and one JDBC batch.
+        Map<Long, List<BoundPatch>> batches = new LinkedHashMap<>();
+        Set<Long> ids = new HashSet<>();
+        boolean renames = false;
+        for (EntityPatch patch : patches) {
+            // Batches are grouped by field set, so two patches of one ID could run out of order
+            if (!ids.add(patch.id())) {
+                throw new IllegalArgumentException("ID " + patch.id() + " is patched more than once");
+            }
+            long fieldSet = 0;
+            PatchField.Parameter[] values = bindPatch(patch);
+            for (int i = 0; i < values.length; i++) {
+                if (values[i] != null) {
+                    fieldSet |= 1L << i;
+                }
+            }
+            renames |= patch.changes().containsKey("name");
+            batches.computeIfAbsent(fieldSet, set -> new ArrayList<>()).add(new BoundPatch(patch.id(), values));
+        }
+        NameWriteBehind writeBehind = nameWriteBehind;
+        if (renames && writeBehind != null) {
+            // A buffered rename flushed after this patch would overwrite it
+            for (EntityPatch patch : patches) {
+                if (patch.changes().containsKey("name")) {
+                    writeBehind.discard(patch.id());
+                }
+            }
+        }
+
+        // Filled inside the transaction, only when someone listens
+        Map<Long, T> patched = new HashMap<>();
+        try (Timer.Context ignored = timeQuery("patch")) {
+            Committed<Long> committed = Writes.inTransaction(connectionManager, connection -> {
+                long rows = 0;
+                for (Map.Entry<Long, List<BoundPatch>> batch : batches.entrySet()) {
+                    try (PreparedStatement ps = statementCache.prepare(connection, getPatchSQL(batch.getKey()))) {
+                        for (BoundPatch patch : batch.getValue()) {
+                            int index = 1;
+                            for (PatchField.Parameter value : patch.values()) {
+                                if (value != null) {
+                                    value.bind(ps, index++);
+                                }
+                            }
+                            ps.setLong(index, patch.id());
+                            ps.addBatch();
+                        }
+                        for (int count : ps.executeBatch()) {
+                            rows += count == Statement.SUCCESS_NO_INFO ? 1 : count;
+                        }
+                    }
+                }
+                readBackForListeners(connection, patches, patched);
+                return new Committed<>(rows, nextSequences(patches.size()));
+            });
+            long affectedRows = committed.result();
+            long sequence = committed.sequence();
+            logger.debug("Patched {} rows in {} statements", affectedRows, batches.size());
+            for (EntityPatch patch : patches) {
+                entityCache.invalidate(patch.id());
+            }
+            for (EntityPatch patch : patches) {
+                T entity = patched.get(patch.id());
+                fireChange(EntityChange.Type.UPDATED, patch.id(), entity, null, sequence++);
+            }
+            return Optional.of(affectedRows);
+        } catch (SQLException e) {
+            logger.error("Error executing patch of {} entities, transaction rolled back", patches.size(), e);
+        }
+        return Optional.empty();
+    }
+
+    // Listeners such as the project price view need the new values, e.g. a patched salary. The rows are read back
+    // on the patch's own connection before it commits, so no replica or later write can be seen; they are not
+    // cached, since the transaction has not committed yet
+    private void readBackForListeners(Connection connection, List<EntityPatch> patches, Map<Long, T> patched)
+            throws SQLException {
+        if (changeListeners.isEmpty()) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>(patches.size());
+        for (EntityPatch patch : patches) {
+            ids.add(patch.id());
+        }
+        patched.putAll(selectByIds(connection, ids, false, 0));
+    }
+
+    private PatchField.Parameter[] bindPatch(EntityPatch patch) {
+        if (patch.changes() == null || patch.changes().isEmpty()) {
+            throw new IllegalArgumentException("Patch for ID " + patch.id() + " changes no fields");
+        }
+        List<PatchField> fields = getPatchFields();
+        Map<String, Integer> fieldIndex = patchFieldIndex();
+        PatchField.Parameter[] values = new PatchField.Parameter[fields.size()];
+        for (Map.Entry<String, Object> change : patch.changes().entrySet()) {
+            Integer index = fieldIndex.get(change.getKey());
+            if (index == null) {
+                throw new IllegalArgumentException("Field cannot be patched: " + change.getKey());
+            }
+            values[index] = fields.get(index).converter().convert(change.getValue());
+        }
+        return values;
+    }
+
+    private Map<String, Integer> patchFieldIndex() {
+        Map<String, Integer> index = patchFieldIndex;
+        if (index == null) {
+            List<PatchField> fields = getPatchFields();
+            index = new HashMap<>();
+            for (int i = 0; i < fields.size(); i++) {
+                index.put(fields.get(i).property(), i);
+            }
+            patchFieldIndex = index;
+        }
+        return index;
+    }
+
+    // Columns are listed in declaration order, so {"salary", "level"} and {"level", "salary"} share a statement
+    String getPatchSQL(long fieldSet) {
+        return patchSQL.computeIfAbsent(fieldSet, set -> {
+            List<PatchField> fields = getPatchFields();
+            StringJoiner assignments = new StringJoiner(", ");
+            for (int i = 0; i < fields.size(); i++) {
+                if ((set & (1L << i)) != 0) {
+                    assignments.add(fields.get(i).column() + " = ?");
+                }
+            }
+            return "UPDATE " + getTableName() + " SET " + assignments + " WHERE id = ?";
+        });
+    }
+
+    private record BoundPatch(long id, PatchField.Parameter[] values) {
+    }
+
+    // A write's result and the first commit sequence it took
+    private record Committed<R>(R result, long sequence) {
+    }
+
+    @Override
+    public Optional<Long> deleteById(long id) {
+        NameWriteBehind writeBehind = nameWriteBehind;
+        if (writeBehind != null) {
+            writeBehind.discard(id);
+        }
+        try (Timer.Context ignored = timeQuery("deleteById")) {
+            Committed<Integer> deleted = Writes.inTransaction(connectionManager, connection -> {
+                try (PreparedStatement ps = statementCache.prepare(connection, getDeleteByIdSQL())) {
+                    ps.setLong(1, id);
+                    return new Committed<>(ps.executeUpdate(), nextSequences(1));
+                }
+            });
+            int affectedRows = deleted.result();
+            entityCache.invalidate(id);
             if (affectedRows > 0) {
-                logger.info("Successfully deleted entity with ID: {}", id);
+                logger.debug("Successfully deleted entity with ID: {}", id);
+                fireChange(EntityChange.Type.DELETED, id, null, null, deleted.sequence());
                 return Optional.of((long) affectedRows);
             } else {
                 logger.warn("No entity found to delete with ID: {}", id);
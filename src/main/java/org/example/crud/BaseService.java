@@ -1,16 +1,33 @@
 package org.example.crud;
 
 import org.example.mapper.json.JsonEntityMapper;
+import org.example.model.Page;
 
+import java.sql.Connection;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public interface BaseService<T> {
     String getContextPath();
-    JsonEntityMapper getJsonEntityMapper();
+    JsonEntityMapper<T> getJsonEntityMapper();
     Optional<T> create(T entity);
+    Optional<List<Long>> createAll(Iterator<T> entities, int chunkSize);
     Optional<T> getById(long id);
+    Optional<List<T>> getByIds(List<Long> ids);
     Optional<List<T>> listAll();
+    Optional<Page<T>> listPage(long afterId, int limit);
+    Optional<Long> streamAll(EntityConsumer<T> consumer);
+    // Streams over the caller's connection, e.g. the primary inside a caller's transaction
+    Optional<Long> streamAll(Connection connection, EntityConsumer<T> consumer);
     Optional<Long> setName(long id, String name);
+    // Partial updates keyed by JSON property name; unknown fields or invalid values throw IllegalArgumentException
+    Optional<Long> patch(long id, Map<String, Object> changes);
+    // All patches commit together; returns the number of rows updated
+    Optional<Long> patchAll(List<EntityPatch> patches);
     Optional<Long> deleteById(long id);
+    void addChangeListener(EntityChangeListener<? super T> listener);
+    // Incremented after every committed write through this service
+    long getVersion();
 }
\ No newline at end of file
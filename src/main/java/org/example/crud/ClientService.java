@@ -1,6 +1,7 @@
 package org.example.crud;
 
 import com.codahale.metrics.MetricRegistry;
+import org.example.cache.EntityCache;
 import org.example.db.ConnectionManager;
 import org.example.mapper.json.ClientJsonMapper;
 import org.example.mapper.dbentity.ClientMapper;
@@ -10,16 +11,25 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.*;
+import java.util.List;
 
 import static org.example.constants.Constants.*;
 
 public class ClientService extends AbstractGenericService<Client> {
     private static final Logger logger = LoggerFactory.getLogger(ClientService.class);
+    private static final JsonEntityMapper<Client> JSON_MAPPER = new ClientJsonMapper();
     private final ClientMapper clientMapper;
+    private final List<PatchField> patchFields;
 
     public ClientService(ConnectionManager connectionManager, MetricRegistry metricRegistry) {
-        super(connectionManager, metricRegistry);
+        this(connectionManager, metricRegistry, EntityCache.disabled());
+    }
+
+    public ClientService(ConnectionManager connectionManager, MetricRegistry metricRegistry, EntityCache<Client> entityCache) {
+        super(connectionManager, metricRegistry, entityCache);
         clientMapper = new ClientMapper();
+        patchFields = List.of(
+                PatchField.text("name", "name", ClientService::isValidName, "Client name must be between 2 and 1000 characters."));
     }
 
     @Override
@@ -51,11 +61,26 @@ public class ClientService extends AbstractGenericService<Client> {
         return GET_CLIENT_BY_ID;
     }
 
+    @Override
+    protected String getSelectByIdsSQL() {
+        return GET_CLIENTS_BY_IDS;
+    }
+
     @Override
     protected String getListAllSQL() {
         return LIST_ALL_CLIENTS;
     }
 
+    @Override
+    protected String getListPageSQL() {
+        return LIST_CLIENTS_PAGE;
+    }
+
+    @Override
+    protected String getExportAllSQL() {
+        return EXPORT_ALL_CLIENTS;
+    }
+
     @Override
     protected String getUpdateNameSQL() {
         return SET_NEW_CLIENTS_NAME;
@@ -66,19 +91,34 @@ public class ClientService extends AbstractGenericService<Client> {
         return DELETE_CLIENT_BY_ID;
     }
 
+    @Override
+    protected void applyName(Client client, String name) {
+        client.setName(name);
+    }
+
+    @Override
+    protected String getTableName() {
+        return "client";
+    }
+
+    @Override
+    protected List<PatchField> getPatchFields() {
+        return patchFields;
+    }
+
     @Override
     public String getContextPath() {
         return "/clients";
     }
 
     @Override
-    public JsonEntityMapper getJsonEntityMapper() {
-        return new ClientJsonMapper();
+    public JsonEntityMapper<Client> getJsonEntityMapper() {
+        return JSON_MAPPER;
     }
 
     private void validateName(String name) {
         try {
-            if (name == null || name.length() < 2 || name.length() > 1000) {
+            if (!isValidName(name)) {
                 throw new IllegalArgumentException("Client name must be between 2 and 1000 characters.");
             }
         } catch (IllegalArgumentException e) {
@@ -86,4 +126,8 @@ public class ClientService extends AbstractGenericService<Client> {
             throw e;
         }
     }
+
+    private static boolean isValidName(String name) {
+        return name != null && name.length() >= 2 && name.length() <= 1000;
+    }
 }
\ No newline at end of file
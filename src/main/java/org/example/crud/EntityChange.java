@@ -0,0 +1,20 @@
+package org.example.crud;
+
+/**
+ * A committed write made through a service. {@code entity} is set for {@link Type#CREATED} and for
+ * {@link Type#UPDATED} changes made by a patch; a rename carries only the new {@code name}, a delete only the ID.
+ * {@code sequence} is taken inside the write's transaction, so for one row it follows commit order even when
+ * listeners are called out of order; 0 means the change has no place in that order.
+ */
+public record EntityChange<T>(String source, Type type, long id, T entity, String name, long sequence) {
+
+    public EntityChange(String source, Type type, long id, T entity) {
+        this(source, type, id, entity, null, 0);
+    }
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+}
@@ -0,0 +1,7 @@
+package org.example.crud;
+
+// Notified after a write through a service has been committed, on the thread that made the write
+@FunctionalInterface
+public interface EntityChangeListener<T> {
+    void onChange(EntityChange<? extends T> change);
+}
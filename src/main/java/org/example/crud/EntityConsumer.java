@@ -0,0 +1,8 @@
+package org.example.crud;
+
+import java.io.IOException;
+
+@FunctionalInterface
+public interface EntityConsumer<T> {
+    void accept(T entity) throws IOException;
+}
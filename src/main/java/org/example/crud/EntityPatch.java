@@ -0,0 +1,9 @@
+package org.example.crud;
+
+import java.util.Map;
+
+/**
+ * A partial update of one entity: the properties to change, by their JSON names, and their new values.
+ */
+public record EntityPatch(long id, Map<String, Object> changes) {
+}
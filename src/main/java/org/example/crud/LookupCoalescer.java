@@ -0,0 +1,129 @@
+package org.example.crud;
+
+import com.codahale.metrics.Histogram;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Merges concurrent lookups by ID into one batched query, DataLoader-style. The first lookup of a batch waits for
+ * the window (or until the batch is full), then loads every ID collected in the meantime with a single query and
+ * hands each waiting caller its row. Callers stay synchronous; only the first one of a batch runs the query.
+ */
+final class LookupCoalescer<T> {
+
+    @FunctionalInterface
+    interface BatchLoader<T> {
+        Map<Long, T> load(List<Long> ids) throws SQLException;
+    }
+
+    private final BatchLoader<T> loader;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final Histogram batchSizes;
+    private final Object lock = new Object();
+    private Batch<T> open;
+
+    LookupCoalescer(BatchLoader<T> loader, long windowNanos, int maxBatchSize, Histogram batchSizes) {
+        this.loader = loader;
+        this.windowNanos = windowNanos;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.batchSizes = batchSizes;
+    }
+
+    Optional<T> load(long id) throws SQLException {
+        Batch<T> batch;
+        boolean leader;
+        synchronized (lock) {
+            leader = open == null;
+            if (leader) {
+                open = new Batch<>();
+            }
+            batch = open;
+            batch.ids.add(id);
+            if (batch.ids.size() >= maxBatchSize) {
+                open = null;
+                batch.full.countDown();
+            }
+        }
+        if (leader) {
+            runBatch(batch);
+        } else {
+            awaitUninterruptibly(batch.done);
+        }
+        return batch.result(id);
+    }
+
+    private void runBatch(Batch<T> batch) {
+        try {
+            awaitFull(batch);
+            List<Long> ids;
+            synchronized (lock) {
+                if (open == batch) {
+                    open = null;
+                }
+                ids = new ArrayList<>(batch.ids);
+            }
+            batchSizes.update(ids.size());
+            batch.rows = loader.load(ids);
+        } catch (SQLException | RuntimeException | Error e) {
+            // Recorded for every caller, the leader included; an Error must not leave the followers without rows
+            batch.failure = e;
+        } finally {
+            batch.done.countDown();
+        }
+    }
+
+    private void awaitFull(Batch<T> batch) {
+        try {
+            batch.full.await(windowNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            // Run what has been collected so far instead of failing every waiting caller
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                latch.await();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class Batch<T> {
+        final Set<Long> ids = new LinkedHashSet<>();
+        final CountDownLatch full = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(1);
+        volatile Map<Long, T> rows;
+        volatile Throwable failure;
+
+        // Runtime failures such as pool exhaustion reach every caller unchanged, so they still map to a 503
+        Optional<T> result(long id) throws SQLException {
+            if (failure instanceof RuntimeException e) {
+                throw e;
+            }
+            if (failure instanceof Error e) {
+                throw e;
+            }
+            if (failure != null) {
+                throw new SQLException("Batched lookup failed: " + failure.getMessage(), failure);
+            }
+            return Optional.ofNullable(rows.get(id));
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package org.example.crud;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.MetricRegistry;
+import org.example.metrics.MetricNames;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Write-behind buffer for renames. Updates are kept per ID, so a burst of renames to the same row leaves only the
+ * last name, and are written in JDBC batches when the buffer reaches the batch size or the flush interval passes.
+ * An entry stays in the buffer until the batch containing it has committed, so reads that consult the buffer see
+ * the pending name throughout; a failed batch stays buffered and is retried on the next flush.
+ * When the buffer holds maxPending rows, new renames are refused and the caller writes them directly.
+ */
+final class NameWriteBehind implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(NameWriteBehind.class);
+
+    @FunctionalInterface
+    interface BatchWriter {
+        void write(Map<Long, String> names) throws SQLException;
+    }
+
+    private final BatchWriter batchWriter;
+    private final int batchSize;
+    private final int maxPending;
+    private final Map<Long, String> pending = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler;
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final Histogram batchSizes;
+    private volatile boolean closed;
+
+    NameWriteBehind(String name, BatchWriter batchWriter, int batchSize, Duration flushInterval,
+                    MetricRegistry metricRegistry) {
+        this.batchWriter = batchWriter;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxPending = this.batchSize * 4;
+        this.batchSizes = metricRegistry.histogram(MetricNames.tagged("db.writebehind.batch.size", "service", name));
+        metricRegistry.register(MetricNames.tagged("db.writebehind.pending", "service", name),
+                (Gauge<Integer>) pending::size);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "write-behind" + name.replace('/', '-'));
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = Math.max(1, flushInterval.toMillis());
+        scheduler.scheduleWithFixedDelay(this::flushQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    // False if the rename has to be written directly: the buffer is closed or full
+    boolean offer(long id, String name) {
+        if (closed || (pending.size() >= maxPending && !pending.containsKey(id))) {
+            return false;
+        }
+        pending.put(id, name);
+        if (pending.size() >= batchSize && flushRequested.compareAndSet(false, true)) {
+            scheduler.execute(this::flushQuietly);
+        }
+        return true;
+    }
+
+    String pendingName(long id) {
+        return pending.get(id);
+    }
+
+    boolean isEmpty() {
+        return pending.isEmpty();
+    }
+
+    // A deleted row must not be renamed by a later flush, nor a row written directly (delete, patch, or a rename
+    // the buffer refused) get an older name back. Taking the flush's monitor waits for a flush that may already
+    // have copied the old name, so it commits before the caller's own write starts
+    synchronized void discard(long id) {
+        pending.remove(id);
+    }
+
+    // Writes everything buffered so far; entries renamed again meanwhile stay for the next flush
+    synchronized void flush() throws SQLException {
+        flushRequested.set(false);
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<Map<Long, String>> batches = new ArrayList<>();
+        Map<Long, String> batch = new LinkedHashMap<>();
+        for (Map.Entry<Long, String> entry : pending.entrySet()) {
+            batch.put(entry.getKey(), entry.getValue());
+            if (batch.size() == batchSize) {
+                batches.add(batch);
+                batch = new LinkedHashMap<>();
+            }
+        }
+        if (!batch.isEmpty()) {
+            batches.add(batch);
+        }
+        for (Map<Long, String> names : batches) {
+            batchWriter.write(names);
+            batchSizes.update(names.size());
+            names.forEach(pending::remove);
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (SQLException | RuntimeException e) {
+            logger.error("Write-behind flush failed, {} renames stay buffered", pending.size(), e);
+        }
+    }
+
+    // Durable flush: stops the timer and writes whatever is still buffered before returning
+    @Override
+    public void close() throws SQLException {
+        closed = true;
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+}
@@ -0,0 +1,85 @@
+package org.example.crud;
+
+import org.example.db.SqlDialect;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+
+/**
+ * A column that PATCH may change: the JSON property clients send, the column it is stored in, and how a JSON
+ * value is checked and bound. Values are converted before a connection is taken, so an invalid patch never
+ * reaches the database; conversion throws {@link IllegalArgumentException} with a message for the client.
+ */
+public record PatchField(String property, String column, Converter converter) {
+
+    @FunctionalInterface
+    public interface Converter {
+        Parameter convert(Object value);
+    }
+
+    @FunctionalInterface
+    public interface Parameter {
+        void bind(PreparedStatement statement, int index) throws SQLException;
+    }
+
+    public static PatchField text(String property, String column, Predicate<String> valid, String message) {
+        return new PatchField(property, column, value -> {
+            if (!(value instanceof String text) || !valid.test(text)) {
+                throw new IllegalArgumentException(message);
+            }
+            return (statement, index) -> statement.setString(index, text);
+        });
+    }
+
+    public static PatchField integer(String property, String column, IntPredicate valid, String message) {
+        return new PatchField(property, column, value -> {
+            long number = toLong(value, message);
+            if (number < Integer.MIN_VALUE || number > Integer.MAX_VALUE || !valid.test((int) number)) {
+                throw new IllegalArgumentException(message);
+            }
+            return (statement, index) -> statement.setInt(index, (int) number);
+        });
+    }
+
+    public static PatchField id(String property, String column) {
+        String message = property + " must be a positive ID";
+        return new PatchField(property, column, value -> {
+            long number = toLong(value, message);
+            if (number <= 0) {
+                throw new IllegalArgumentException(message);
+            }
+            return (statement, index) -> statement.setLong(index, number);
+        });
+    }
+
+    // Dates are sent as yyyy-MM-dd, like the entities are serialized
+    public static PatchField date(String property, String column, SqlDialect dialect, boolean nullable) {
+        String message = property + " must be a date (yyyy-MM-dd)" + (nullable ? " or null" : "");
+        return new PatchField(property, column, value -> {
+            if (value == null && nullable) {
+                return (statement, index) -> dialect.setDate(statement, index, null);
+            }
+            if (!(value instanceof String text)) {
+                throw new IllegalArgumentException(message);
+            }
+            try {
+                LocalDate date = LocalDate.parse(text);
+                return (statement, index) -> dialect.setDate(statement, index, date);
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException(message);
+            }
+        });
+    }
+
+    // Whole numbers only: 1.5 or "15" are rejected rather than silently truncated or parsed
+    private static long toLong(Object value, String message) {
+        if (value instanceof Integer || value instanceof Long || value instanceof Short) {
+            return ((Number) value).longValue();
+        }
+        throw new IllegalArgumentException(message);
+    }
+}
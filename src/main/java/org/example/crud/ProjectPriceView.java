@@ -0,0 +1,440 @@
+package org.example.crud;
+
+import org.example.db.ConnectionManager;
+import org.example.model.Client;
+import org.example.model.Project;
+import org.example.model.ProjectPrice;
+import org.example.model.ProjectWorker;
+import org.example.model.Worker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static org.example.constants.Constants.LIST_ALL_PROJECT_WORKERS;
+
+/**
+ * In-memory materialization of print_project_prices.sql, loaded once and then kept current from write events.
+ * Each project keeps the running salary sum of its workers, so an assignment, a salary change or a date change
+ * adjusts the affected sums instead of re-aggregating the join; projects are kept ordered by price for top-N reads.
+ * A month is 30 whole days, as in the PostgreSQL script; projects without dates are priced at 0.
+ * Listeners can run out of commit order, so every event is checked against the last commit sequence applied to
+ * its row or link and dropped when it is older; deleted rows keep their sequence so a late event cannot revive them.
+ */
+public class ProjectPriceView {
+    private static final Logger logger = LoggerFactory.getLogger(ProjectPriceView.class);
+    private static final Comparator<ProjectEntry> BY_PRICE_DESC = Comparator
+            .comparingLong((ProjectEntry entry) -> entry.price).reversed()
+            .thenComparingLong(entry -> entry.id);
+
+    private final ConnectionManager connectionManager;
+    private final BaseService<Worker> workerService;
+    private final BaseService<Project> projectService;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, ProjectEntry> projects = new HashMap<>();
+    private final Map<Long, WorkerEntry> workers = new HashMap<>();
+    private final Map<Long, Set<Long>> projectsByClient = new HashMap<>();
+    private final TreeSet<ProjectEntry> byPrice = new TreeSet<>(BY_PRICE_DESC);
+    // Last commit sequence applied per row and link; a project's name has its own, since renames only carry the name
+    private final Map<Long, Long> workerSequences = new HashMap<>();
+    private final Map<Long, Long> projectSequences = new HashMap<>();
+    private final Map<Long, Long> nameSequences = new HashMap<>();
+    private final Map<Link, Long> linkSequences = new HashMap<>();
+    private long latestProjectSequence;
+
+    public ProjectPriceView(ConnectionManager connectionManager, BaseService<Worker> workerService,
+                            BaseService<Project> projectService, BaseService<Client> clientService) {
+        this.connectionManager = connectionManager;
+        this.workerService = workerService;
+        this.projectService = projectService;
+        workerService.addChangeListener(this::onWorkerChange);
+        projectService.addChangeListener(this::onProjectChange);
+        clientService.addChangeListener(this::onClientChange);
+    }
+
+    // Full load from the primary, run once before the server accepts requests. All three queries share one
+    // snapshot transaction, so assignments never point at rows the other queries did not see
+    public void load() {
+        lock.writeLock().lock();
+        try (Connection connection = connectionManager.getConnection()) {
+            connection.setAutoCommit(false);
+            connection.setTransactionIsolation(connectionManager.getDialect().snapshotIsolation());
+            projects.clear();
+            workers.clear();
+            projectsByClient.clear();
+            byPrice.clear();
+            workerSequences.clear();
+            projectSequences.clear();
+            nameSequences.clear();
+            linkSequences.clear();
+            latestProjectSequence = 0;
+            workerService.streamAll(connection, worker -> workers.put(worker.getId(), new WorkerEntry(worker.getSalary())))
+                    .orElseThrow(() -> new IllegalStateException("Could not load workers for project prices"));
+            projectService.streamAll(connection, project -> addProject(project.getId(), project))
+                    .orElseThrow(() -> new IllegalStateException("Could not load projects for project prices"));
+            loadAssignments(connection);
+            connection.commit();
+            logger.info("Project price view loaded: {} projects, {} workers", projects.size(), workers.size());
+        } catch (SQLException e) {
+            logger.error("Error loading project prices", e);
+            throw new IllegalStateException("Could not load project prices", e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void loadAssignments(Connection connection) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(LIST_ALL_PROJECT_WORKERS);
+             ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                applyAssignment(rs.getLong("project_id"), rs.getLong("worker_id"));
+            }
+        }
+    }
+
+    // Projects ordered by price, highest first
+    public List<ProjectPrice> top(int limit) {
+        lock.readLock().lock();
+        try {
+            List<ProjectPrice> result = new ArrayList<>(Math.min(limit, byPrice.size()));
+            for (ProjectEntry entry : byPrice) {
+                if (result.size() == limit) {
+                    break;
+                }
+                result.add(new ProjectPrice(entry.id, entry.name, entry.price));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Optional<ProjectPrice> getPrice(long projectId) {
+        lock.readLock().lock();
+        try {
+            ProjectEntry entry = projects.get(projectId);
+            return entry == null ? Optional.empty() : Optional.of(new ProjectPrice(entry.id, entry.name, entry.price));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // The public mutators apply unconditionally; events go through the sequence-checked variants below
+    public void assign(long projectId, long workerId) {
+        assign(projectId, workerId, 0);
+    }
+
+    public void unassign(long projectId, long workerId) {
+        unassign(projectId, workerId, 0);
+    }
+
+    public void workerSalaryChanged(long workerId, int salary) {
+        workerSalaryChanged(workerId, salary, 0);
+    }
+
+    public void projectChanged(long projectId, Project project) {
+        projectChanged(projectId, project, 0);
+    }
+
+    private void assign(long projectId, long workerId, long sequence) {
+        lock.writeLock().lock();
+        try {
+            if (advance(linkSequences, new Link(projectId, workerId), sequence)) {
+                applyAssignment(projectId, workerId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void unassign(long projectId, long workerId, long sequence) {
+        lock.writeLock().lock();
+        try {
+            if (!advance(linkSequences, new Link(projectId, workerId), sequence)) {
+                return;
+            }
+            ProjectEntry project = projects.get(projectId);
+            WorkerEntry worker = workers.get(workerId);
+            if (project == null || worker == null || !project.workerIds.remove(workerId)) {
+                return;
+            }
+            worker.projectIds.remove(projectId);
+            reprice(project, project.salarySum - worker.salary, project.months);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void workerSalaryChanged(long workerId, int salary, long sequence) {
+        lock.writeLock().lock();
+        try {
+            if (!advance(workerSequences, workerId, sequence)) {
+                return;
+            }
+            WorkerEntry worker = workers.get(workerId);
+            if (worker == null) {
+                workers.put(workerId, new WorkerEntry(salary));
+                return;
+            }
+            long delta = (long) salary - worker.salary;
+            worker.salary = salary;
+            for (Long projectId : worker.projectIds) {
+                ProjectEntry project = projects.get(projectId);
+                reprice(project, project.salarySum + delta, project.months);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void projectChanged(long projectId, Project project, long sequence) {
+        lock.writeLock().lock();
+        try {
+            if (!advanceProject(projectId, sequence)) {
+                return;
+            }
+            // A rename committed after this row was read keeps its name
+            boolean nameCurrent = advance(nameSequences, projectId, sequence);
+            ProjectEntry entry = projects.get(projectId);
+            if (entry == null) {
+                addProject(projectId, project);
+                return;
+            }
+            byPrice.remove(entry);
+            if (nameCurrent) {
+                entry.name = project.getName();
+            }
+            moveToClient(entry, project.getClient_id());
+            entry.months = months(project.getStart_date(), project.getFinish_date());
+            entry.price = entry.salarySum * entry.months;
+            byPrice.add(entry);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void projectRenamed(long projectId, String name, long sequence) {
+        lock.writeLock().lock();
+        try {
+            ProjectEntry entry = projects.get(projectId);
+            if (entry != null && advance(nameSequences, projectId, sequence)) {
+                entry.name = name;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Listener for ProjectWorkerService
+    public void onAssignmentChange(EntityChange<? extends ProjectWorker> change) {
+        ProjectWorker link = change.entity();
+        switch (change.type()) {
+            case CREATED -> assign(link.getProjectId(), link.getWorkerId(), change.sequence());
+            case DELETED -> unassign(link.getProjectId(), link.getWorkerId(), change.sequence());
+            default -> {
+            }
+        }
+    }
+
+    private void onWorkerChange(EntityChange<? extends Worker> change) {
+        switch (change.type()) {
+            case CREATED -> workerSalaryChanged(change.id(), change.entity().getSalary(), change.sequence());
+            // Salary changes come from patches, which carry the row; a rename has no entity and no price effect
+            case UPDATED -> {
+                if (change.entity() != null) {
+                    workerSalaryChanged(change.id(), change.entity().getSalary(), change.sequence());
+                }
+            }
+            case DELETED -> removeWorker(change.id(), change.sequence());
+        }
+    }
+
+    private void onProjectChange(EntityChange<? extends Project> change) {
+        switch (change.type()) {
+            case CREATED -> projectChanged(change.id(), change.entity(), change.sequence());
+            // A rename carries only the name; a rename still buffered carries neither and is reported by its flush
+            case UPDATED -> {
+                if (change.entity() != null) {
+                    projectChanged(change.id(), change.entity(), change.sequence());
+                } else if (change.name() != null) {
+                    projectRenamed(change.id(), change.name(), change.sequence());
+                }
+            }
+            case DELETED -> removeProject(change.id(), change.sequence());
+        }
+    }
+
+    // Deleting a client cascades to its projects. The cascade has no project sequence of its own, so the removed
+    // projects are marked with the newest one seen, which drops any of their events still in flight
+    private void onClientChange(EntityChange<? extends Client> change) {
+        if (change.type() != EntityChange.Type.DELETED) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            for (Long projectId : List.copyOf(projectsByClient.getOrDefault(change.id(), Set.of()))) {
+                if (latestProjectSequence > 0) {
+                    projectSequences.put(projectId, latestProjectSequence);
+                    nameSequences.put(projectId, latestProjectSequence);
+                }
+                removeProjectEntry(projectId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeWorker(long workerId, long sequence) {
+        lock.writeLock().lock();
+        try {
+            if (!advance(workerSequences, workerId, sequence)) {
+                return;
+            }
+            WorkerEntry worker = workers.remove(workerId);
+            if (worker == null) {
+                return;
+            }
+            for (Long projectId : worker.projectIds) {
+                ProjectEntry project = projects.get(projectId);
+                project.workerIds.remove(workerId);
+                reprice(project, project.salarySum - worker.salary, project.months);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeProject(long projectId, long sequence) {
+        lock.writeLock().lock();
+        try {
+            if (advanceProject(projectId, sequence)) {
+                advance(nameSequences, projectId, sequence);
+                removeProjectEntry(projectId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Callers hold the write lock
+    private void removeProjectEntry(long projectId) {
+        ProjectEntry project = projects.remove(projectId);
+        if (project == null) {
+            return;
+        }
+        byPrice.remove(project);
+        moveToClient(project, null);
+        for (Long workerId : project.workerIds) {
+            WorkerEntry worker = workers.get(workerId);
+            if (worker != null) {
+                worker.projectIds.remove(projectId);
+            }
+        }
+    }
+
+    // Records the sequence and returns true if it is newer than the last one applied to the key; 0 always applies.
+    // Callers hold the write lock
+    private static <K> boolean advance(Map<K, Long> sequences, K key, long sequence) {
+        if (sequence == 0) {
+            return true;
+        }
+        Long last = sequences.get(key);
+        if (last != null && last >= sequence) {
+            return false;
+        }
+        sequences.put(key, sequence);
+        return true;
+    }
+
+    private boolean advanceProject(long projectId, long sequence) {
+        if (!advance(projectSequences, projectId, sequence)) {
+            return false;
+        }
+        latestProjectSequence = Math.max(latestProjectSequence, sequence);
+        return true;
+    }
+
+    // Callers hold the write lock
+    private void addProject(long projectId, Project project) {
+        ProjectEntry entry = new ProjectEntry(projectId, project.getName(),
+                months(project.getStart_date(), project.getFinish_date()));
+        projects.put(entry.id, entry);
+        moveToClient(entry, project.getClient_id());
+        byPrice.add(entry);
+    }
+
+    private void applyAssignment(long projectId, long workerId) {
+        ProjectEntry project = projects.get(projectId);
+        WorkerEntry worker = workers.get(workerId);
+        if (project == null || worker == null || !project.workerIds.add(workerId)) {
+            return;
+        }
+        worker.projectIds.add(projectId);
+        reprice(project, project.salarySum + worker.salary, project.months);
+    }
+
+    private void reprice(ProjectEntry project, long salarySum, long months) {
+        byPrice.remove(project);
+        project.salarySum = salarySum;
+        project.months = months;
+        project.price = salarySum * months;
+        byPrice.add(project);
+    }
+
+    private void moveToClient(ProjectEntry project, Long clientId) {
+        if (Objects.equals(project.clientId, clientId)) {
+            return;
+        }
+        if (project.clientId != null) {
+            Set<Long> previous = projectsByClient.get(project.clientId);
+            previous.remove(project.id);
+            if (previous.isEmpty()) {
+                projectsByClient.remove(project.clientId);
+            }
+        }
+        project.clientId = clientId;
+        if (clientId != null) {
+            projectsByClient.computeIfAbsent(clientId, id -> new HashSet<>()).add(project.id);
+        }
+    }
+
+    private static long months(LocalDate start, LocalDate finish) {
+        return start == null || finish == null ? 0 : ChronoUnit.DAYS.between(start, finish) / 30;
+    }
+
+    private record Link(long projectId, long workerId) {
+    }
+
+    private static class ProjectEntry {
+        private final long id;
+        private final Set<Long> workerIds = new HashSet<>();
+        private String name;
+        private Long clientId;
+        private long months;
+        private long salarySum;
+        private long price;
+
+        private ProjectEntry(long id, String name, long months) {
+            this.id = id;
+            this.name = name;
+            this.months = months;
+        }
+    }
+
+    private static class WorkerEntry {
+        private final Set<Long> projectIds = new HashSet<>();
+        private int salary;
+
+        private WorkerEntry(int salary) {
+            this.salary = salary;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package org.example.crud;
 
 import com.codahale.metrics.MetricRegistry;
+import org.example.cache.EntityCache;
 import org.example.db.ConnectionManager;
 import org.example.mapper.dbentity.ProjectMapper;
 import org.example.mapper.json.JsonEntityMapper;
@@ -11,16 +12,28 @@ import org.slf4j.LoggerFactory;
 
 import java.sql.*;
 import java.time.LocalDate;
+import java.util.List;
 
 import static org.example.constants.Constants.*;
 
 public class ProjectService extends AbstractGenericService<Project> {
     private static final Logger logger = LoggerFactory.getLogger(ProjectService.class);
+    private static final JsonEntityMapper<Project> JSON_MAPPER = new ProjectJsonMapper();
     private final ProjectMapper projectMapper;
+    private final List<PatchField> patchFields;
 
     public ProjectService(ConnectionManager connectionManager, MetricRegistry metricRegistry) {
-        super(connectionManager, metricRegistry);
-        projectMapper = new ProjectMapper();
+        this(connectionManager, metricRegistry, EntityCache.disabled());
+    }
+
+    public ProjectService(ConnectionManager connectionManager, MetricRegistry metricRegistry, EntityCache<Project> entityCache) {
+        super(connectionManager, metricRegistry, entityCache);
+        projectMapper = new ProjectMapper(dialect);
+        patchFields = List.of(
+                PatchField.text("name", "name", ProjectService::isValidName, "Project name must be between 2 and 1000 characters."),
+                PatchField.id("client_id", "client_id"),
+                PatchField.date("start_date", "start_date", dialect, false),
+                PatchField.date("finish_date", "finish_date", dialect, true));
     }
 
     @Override
@@ -45,9 +58,9 @@ public class ProjectService extends AbstractGenericService<Project> {
         long projectId = rs.getLong("id");
         String name = rs.getString("name");
         long client_id = rs.getLong("client_id");
-        LocalDate start_date = rs.getDate("start_date").toLocalDate();
-        LocalDate finish_date = rs.getDate("finish_date").toLocalDate();
-        return new Project(projectId, name, client_id, start_date, finish_date != null ? finish_date : null);
+        LocalDate start_date = dialect.getDate(rs, "start_date");
+        LocalDate finish_date = dialect.getDate(rs, "finish_date");
+        return new Project(projectId, name, client_id, start_date, finish_date);
     }
 
     @Override
@@ -55,11 +68,26 @@ public class ProjectService extends AbstractGenericService<Project> {
         return GET_PROJECT_BY_ID;
     }
 
+    @Override
+    protected String getSelectByIdsSQL() {
+        return GET_PROJECTS_BY_IDS;
+    }
+
     @Override
     protected String getListAllSQL() {
         return LIST_ALL_PROJECTS;
     }
 
+    @Override
+    protected String getListPageSQL() {
+        return LIST_PROJECTS_PAGE;
+    }
+
+    @Override
+    protected String getExportAllSQL() {
+        return EXPORT_ALL_PROJECTS;
+    }
+
     @Override
     protected String getUpdateNameSQL() {
         return SET_NEW_PROJECTS_NAME;
@@ -70,19 +98,34 @@ public class ProjectService extends AbstractGenericService<Project> {
         return DELETE_PROJECT_BY_ID;
     }
 
+    @Override
+    protected void applyName(Project project, String name) {
+        project.setName(name);
+    }
+
+    @Override
+    protected String getTableName() {
+        return "project";
+    }
+
+    @Override
+    protected List<PatchField> getPatchFields() {
+        return patchFields;
+    }
+
     @Override
     public String getContextPath() {
         return "/projects";
     }
 
     @Override
-    public JsonEntityMapper getJsonEntityMapper() {
-        return new ProjectJsonMapper();
+    public JsonEntityMapper<Project> getJsonEntityMapper() {
+        return JSON_MAPPER;
     }
 
     private void validateProjectFields(String name, LocalDate startDate) {
         try {
-            if (name == null || name.length() < 2 || name.length() > 1000) {
+            if (!isValidName(name)) {
                 throw new IllegalArgumentException("Project name must be between 2 and 1000 characters.");
             }
             if (startDate == null) {
@@ -93,4 +136,8 @@ public class ProjectService extends AbstractGenericService<Project> {
             throw e;
         }
     }
+
+    private static boolean isValidName(String name) {
+        return name != null && name.length() >= 2 && name.length() <= 1000;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,170 @@
+package org.example.crud;
+
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import org.example.db.ConnectionManager;
+import org.example.db.PreparedStatementCache;
+import org.example.db.Writes;
+import org.example.mapper.dbentity.ProjectWorkerMapper;
+import org.example.metrics.MetricNames;
+import org.example.model.Identifiable;
+import org.example.model.Project;
+import org.example.model.ProjectWorker;
+import org.example.model.Worker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.example.constants.Constants.*;
+
+/**
+ * Worker assignments (the project_worker table). Links are written as one JDBC batch per request inside a
+ * transaction, and the workers of a project (or projects of a worker) are read with a single join.
+ */
+public class ProjectWorkerService {
+    // Source name used in change events and report dependencies
+    public static final String SOURCE = "/project-workers";
+    private static final Logger logger = LoggerFactory.getLogger(ProjectWorkerService.class);
+
+    private final ConnectionManager connectionManager;
+    private final MetricRegistry metricRegistry;
+    private final PreparedStatementCache statementCache;
+    private final AbstractGenericService<Worker> workerService;
+    private final AbstractGenericService<Project> projectService;
+    private final ProjectWorkerMapper projectWorkerMapper = new ProjectWorkerMapper();
+    private final Map<String, Timer> queryTimers = new ConcurrentHashMap<>();
+    private final List<EntityChangeListener<? super ProjectWorker>> changeListeners = new CopyOnWriteArrayList<>();
+    // Taken inside each write's transaction, so for one link it follows commit order
+    private final AtomicLong commitSequence = new AtomicLong();
+
+    public ProjectWorkerService(ConnectionManager connectionManager, MetricRegistry metricRegistry,
+                                AbstractGenericService<Worker> workerService, AbstractGenericService<Project> projectService) {
+        this.connectionManager = connectionManager;
+        this.metricRegistry = metricRegistry;
+        this.statementCache = PreparedStatementCache.getInstance(metricRegistry);
+        this.workerService = workerService;
+        this.projectService = projectService;
+    }
+
+    public String getProjectContextPath() {
+        return projectService.getContextPath();
+    }
+
+    public String getWorkerContextPath() {
+        return workerService.getContextPath();
+    }
+
+    public void addChangeListener(EntityChangeListener<? super ProjectWorker> listener) {
+        changeListeners.add(listener);
+    }
+
+    // Returns the IDs that were newly assigned; IDs already on the project are skipped
+    public Optional<List<Long>> assign(long projectId, List<Long> workerIds) {
+        return writeLinks("assign", INSERT_PROJECT_WORKER, EntityChange.Type.CREATED, projectId, workerIds);
+    }
+
+    // Returns the IDs that were actually removed from the project
+    public Optional<List<Long>> unassign(long projectId, List<Long> workerIds) {
+        return writeLinks("unassign", DELETE_PROJECT_WORKER, EntityChange.Type.DELETED, projectId, workerIds);
+    }
+
+    public Optional<List<Worker>> listWorkers(long projectId) {
+        return listJoined("listWorkers", LIST_WORKERS_OF_PROJECT, projectId, workerService);
+    }
+
+    public Optional<List<Project>> listProjects(long workerId) {
+        return listJoined("listProjects", LIST_PROJECTS_OF_WORKER, workerId, projectService);
+    }
+
+    private Optional<List<Long>> writeLinks(String operation, String sql, EntityChange.Type type,
+                                            long projectId, List<Long> workerIds) {
+        List<ProjectWorker> links = new ArrayList<>(workerIds.size());
+        try {
+            for (Long workerId : workerIds) {
+                links.add(new ProjectWorker(Math.toIntExact(projectId), Math.toIntExact(workerId)));
+            }
+        } catch (ArithmeticException | NullPointerException e) {
+            logger.warn("Invalid worker IDs for project ID: {}", projectId);
+            return Optional.empty();
+        }
+
+        List<Long> changed = new ArrayList<>();
+        List<Long> changedSequences = new ArrayList<>();
+        long[] sequences = new long[links.size()];
+        try (Timer.Context ignored = timeQuery(operation)) {
+            int[] counts = Writes.inTransaction(connectionManager, connection -> {
+                try (PreparedStatement ps = statementCache.prepare(connection, sql)) {
+                    for (ProjectWorker link : links) {
+                        projectWorkerMapper.mapToStatement(ps, link);
+                        ps.addBatch();
+                    }
+                    int[] result = ps.executeBatch();
+                    long first = commitSequence.getAndAdd(links.size()) + 1;
+                    for (int i = 0; i < sequences.length; i++) {
+                        sequences[i] = first + i;
+                    }
+                    return result;
+                }
+            });
+            // SUCCESS_NO_INFO counts as changed; listeners treat repeated links as no-ops
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] != 0) {
+                    changed.add((long) links.get(i).getWorkerId());
+                    changedSequences.add(sequences[i]);
+                }
+            }
+        } catch (SQLException e) {
+            logger.error("Error executing {} for project ID: {}, transaction rolled back", operation, projectId, e);
+            return Optional.empty();
+        }
+
+        logger.debug("{} changed {} of {} links for project ID: {}", operation, changed.size(), links.size(), projectId);
+        for (int i = 0; i < changed.size(); i++) {
+            fireChange(type, projectId, changed.get(i), changedSequences.get(i));
+        }
+        return Optional.of(changed);
+    }
+
+    private <T extends Identifiable> Optional<List<T>> listJoined(String operation, String sql, long id, AbstractGenericService<T> rowMapper) {
+        List<T> results = new ArrayList<>();
+        try (Timer.Context ignored = timeQuery(operation);
+             Connection connection = connectionManager.getReadConnection();
+             PreparedStatement ps = statementCache.prepare(connection, sql)) {
+            ps.setLong(1, id);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    results.add(rowMapper.createEntityFromResultSet(rs));
+                }
+            }
+            return Optional.of(results);
+        } catch (SQLException e) {
+            logger.error("Error executing {} query for ID: {}", operation, id, e);
+        }
+        return Optional.empty();
+    }
+
+    private void fireChange(EntityChange.Type type, long projectId, long workerId, long sequence) {
+        EntityChange<ProjectWorker> change = new EntityChange<>(SOURCE, type, projectId,
+                new ProjectWorker((int) projectId, (int) workerId), null, sequence);
+        for (EntityChangeListener<? super ProjectWorker> listener : changeListeners) {
+            try {
+                listener.onChange(change);
+            } catch (RuntimeException e) {
+                logger.error("Change listener failed for {} {} project ID: {}", SOURCE, type, projectId, e);
+            }
+        }
+    }
+
+    private Timer.Context timeQuery(String query) {
+        return queryTimers.computeIfAbsent(query, q -> metricRegistry.timer(
+                MetricNames.tagged("db.queries", "service", SOURCE, "query", q))).time();
+    }
+}
@@ -0,0 +1,125 @@
+package org.example.crud;
+
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import org.example.cache.CacheMetrics;
+import org.example.constants.Report;
+import org.example.db.ConnectionManager;
+import org.example.db.PreparedStatementCache;
+import org.example.db.SqlDialect;
+import org.example.metrics.MetricNames;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.*;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs the per-dialect report scripts and caches their results. A cached result is dropped as soon as
+ * a service the report depends on commits a write; the TTL only covers writes made outside the application.
+ * Only results read from the primary are cached, and clients inside their read-your-writes window bypass the cache.
+ */
+public class ReportService {
+    public static final String CONTEXT_PATH = "/reports";
+    private static final Logger logger = LoggerFactory.getLogger(ReportService.class);
+
+    private final ConnectionManager connectionManager;
+    private final MetricRegistry metricRegistry;
+    private final SqlDialect dialect;
+    private final PreparedStatementCache statementCache;
+    private final long ttlNanos;
+    private final CacheMetrics cacheMetrics;
+    private final Map<Report, String> queries = new EnumMap<>(Report.class);
+    private final Map<Report, AtomicLong> versions = new EnumMap<>(Report.class);
+    private final Map<Report, CachedReport> cache = new ConcurrentHashMap<>();
+
+    public ReportService(ConnectionManager connectionManager, MetricRegistry metricRegistry, Duration ttl) {
+        this.connectionManager = connectionManager;
+        this.metricRegistry = metricRegistry;
+        this.dialect = connectionManager.getDialect();
+        this.statementCache = PreparedStatementCache.getInstance(metricRegistry);
+        this.ttlNanos = ttl.toNanos();
+        this.cacheMetrics = new CacheMetrics("reports", metricRegistry);
+        // Scripts are read once here, so a missing file fails startup rather than a request
+        for (Report report : Report.values()) {
+            queries.put(report, dialect.getScript(report.getSqlFile()));
+            versions.put(report, new AtomicLong());
+        }
+    }
+
+    // Drops cached reports whenever the service commits a write
+    public <T> void watch(BaseService<T> service) {
+        String source = service.getContextPath();
+        service.addChangeListener(change -> invalidate(source));
+    }
+
+    public void invalidate(String source) {
+        for (Report report : Report.values()) {
+            if (report.dependsOn(source)) {
+                versions.get(report).incrementAndGet();
+                cache.remove(report);
+            }
+        }
+    }
+
+    public Optional<List<Map<String, Object>>> getReport(Report report) {
+        if (!connectionManager.isStickyToPrimary()) {
+            CachedReport cached = cache.get(report);
+            if (cached != null && System.nanoTime() - cached.loadedAt() < ttlNanos) {
+                cacheMetrics.recordHit();
+                return Optional.of(cached.rows());
+            }
+        }
+        cacheMetrics.recordMiss();
+
+        // A write committed while the query runs bumps the version, so the stale result is not cached
+        long version = versions.get(report).get();
+        try {
+            List<Map<String, Object>> rows = runQuery(report);
+            // A replica can lag behind a write that already bumped the version
+            if (connectionManager.readsFromPrimary() && versions.get(report).get() == version) {
+                cache.put(report, new CachedReport(rows, System.nanoTime()));
+            }
+            return Optional.of(rows);
+        } catch (SQLException e) {
+            logger.error("Error executing report query: {}", report.getPath(), e);
+        }
+        return Optional.empty();
+    }
+
+    private List<Map<String, Object>> runQuery(Report report) throws SQLException {
+        try (Timer.Context ignored = metricRegistry.timer(
+                MetricNames.tagged("db.queries", "service", CONTEXT_PATH, "query", report.getPath())).time();
+             Connection connection = connectionManager.getReadConnection();
+             PreparedStatement ps = statementCache.prepare(connection, queries.get(report));
+             ResultSet rs = ps.executeQuery()) {
+
+            ResultSetMetaData metaData = rs.getMetaData();
+            int columnCount = metaData.getColumnCount();
+            String[] labels = new String[columnCount];
+            boolean[] dates = new boolean[columnCount];
+            for (int i = 0; i < columnCount; i++) {
+                labels[i] = metaData.getColumnLabel(i + 1);
+                dates[i] = metaData.getColumnType(i + 1) == Types.DATE;
+            }
+
+            List<Map<String, Object>> rows = new ArrayList<>();
+            while (rs.next()) {
+                Map<String, Object> row = new LinkedHashMap<>();
+                for (int i = 0; i < columnCount; i++) {
+                    Object value = dates[i] ? dialect.getDate(rs, labels[i]) : rs.getObject(i + 1);
+                    row.put(labels[i].toLowerCase(Locale.ROOT), value);
+                }
+                rows.add(Collections.unmodifiableMap(row));
+            }
+            logger.debug("Report {} returned {} rows", report.getPath(), rows.size());
+            return List.copyOf(rows);
+        }
+    }
+
+    private record CachedReport(List<Map<String, Object>> rows, long loadedAt) {
+    }
+}
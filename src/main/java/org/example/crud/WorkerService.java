@@ -1,6 +1,7 @@
 package org.example.crud;
 
 import com.codahale.metrics.MetricRegistry;
+import org.example.cache.EntityCache;
 import org.example.db.ConnectionManager;
 import org.example.mapper.json.WorkerJsonMapper;
 import org.example.mapper.json.JsonEntityMapper;
@@ -12,16 +13,29 @@ import org.slf4j.LoggerFactory;
 
 import java.sql.*;
 import java.time.LocalDate;
+import java.util.List;
 
 import static org.example.constants.Constants.*;
 
 public class WorkerService extends AbstractGenericService<Worker> {
     private static final Logger logger = LoggerFactory.getLogger(WorkerService.class);
+    private static final JsonEntityMapper<Worker> JSON_MAPPER = new WorkerJsonMapper();
     private final WorkerMapper workerMapper;
+    private final List<PatchField> patchFields;
 
     public WorkerService(ConnectionManager connectionManager, MetricRegistry metricRegistry) {
-        super(connectionManager, metricRegistry);
-        workerMapper = new WorkerMapper();
+        this(connectionManager, metricRegistry, EntityCache.disabled());
+    }
+
+    public WorkerService(ConnectionManager connectionManager, MetricRegistry metricRegistry, EntityCache<Worker> entityCache) {
+        super(connectionManager, metricRegistry, entityCache);
+        workerMapper = new WorkerMapper(dialect);
+        patchFields = List.of(
+                PatchField.text("name", "name", WorkerService::isValidName, "Worker name must be between 2 and 1000 characters."),
+                PatchField.date("dateOfBirth", "birthday", dialect, false),
+                PatchField.text("email", "email", email -> email.contains("@"), "Invalid email address."),
+                new PatchField("level", "level", WorkerService::levelParameter),
+                PatchField.integer("salary", "salary", salary -> salary > 0, "Salary must be greater than zero."));
     }
 
     @Override
@@ -45,7 +59,7 @@ public class WorkerService extends AbstractGenericService<Worker> {
     protected Worker createEntityFromResultSet(ResultSet rs) throws SQLException {
         long workerId = rs.getLong("id");
         String name = rs.getString("name");
-        LocalDate dateOfBirth = rs.getDate("birthday").toLocalDate();
+        LocalDate dateOfBirth = dialect.getDate(rs, "birthday");
         String email = rs.getString("email");
         Level level = Level.valueOf(rs.getString("level").toUpperCase());
         int salary = rs.getInt("salary");
@@ -57,11 +71,26 @@ public class WorkerService extends AbstractGenericService<Worker> {
         return GET_WORKER_BY_ID;
     }
 
+    @Override
+    protected String getSelectByIdsSQL() {
+        return GET_WORKERS_BY_IDS;
+    }
+
     @Override
     protected String getListAllSQL() {
         return LIST_ALL_WORKERS;
     }
 
+    @Override
+    protected String getListPageSQL() {
+        return LIST_WORKERS_PAGE;
+    }
+
+    @Override
+    protected String getExportAllSQL() {
+        return EXPORT_ALL_WORKERS;
+    }
+
     @Override
     protected String getUpdateNameSQL() {
         return SET_NEW_WORKERS_NAME;
@@ -72,19 +101,34 @@ public class WorkerService extends AbstractGenericService<Worker> {
         return DELETE_WORKER_BY_ID;
     }
 
+    @Override
+    protected void applyName(Worker worker, String name) {
+        worker.setName(name);
+    }
+
+    @Override
+    protected String getTableName() {
+        return "worker";
+    }
+
+    @Override
+    protected List<PatchField> getPatchFields() {
+        return patchFields;
+    }
+
     @Override
     public String getContextPath() {
         return "/workers";
     }
 
     @Override
-    public JsonEntityMapper getJsonEntityMapper() {
-        return new WorkerJsonMapper();
+    public JsonEntityMapper<Worker> getJsonEntityMapper() {
+        return JSON_MAPPER;
     }
 
     private void validateWorkerFields(String name, LocalDate dateOfBirth, String email, Level level, int salary) {
         try {
-            if (name == null || name.length() < 2 || name.length() > 1000) {
+            if (!isValidName(name)) {
                 throw new IllegalArgumentException("Worker name must be between 2 and 1000 characters.");
             }
             if (email == null || !email.contains("@")) {
@@ -102,4 +146,17 @@ public class WorkerService extends AbstractGenericService<Worker> {
         }
     }
 
+    private static boolean isValidName(String name) {
+        return name != null && name.length() >= 2 && name.length() <= 1000;
+    }
+
+    // Accepts the enum name in any case ("SENIOR", "senior") and stores the display name, as create does
+    private static PatchField.Parameter levelParameter(Object value) {
+        try {
+            Level level = Level.valueOf(((String) value).toUpperCase());
+            return (statement, index) -> statement.setString(index, level.toString());
+        } catch (ClassCastException | NullPointerException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Worker level must be one of TRAINEE, JUNIOR, MIDDLE, SENIOR.");
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,45 @@
+package org.example.db;
+
+import org.example.constants.DatabaseType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.example.constants.Constants.getSqlFilePath;
+
+public abstract class AbstractSqlDialect implements SqlDialect {
+    private static final Logger logger = LoggerFactory.getLogger(AbstractSqlDialect.class);
+    private final DatabaseType type;
+    private final Map<String, String> scripts = new ConcurrentHashMap<>();
+
+    protected AbstractSqlDialect(DatabaseType type) {
+        this.type = type;
+    }
+
+    @Override
+    public DatabaseType getType() {
+        return type;
+    }
+
+    @Override
+    public String getScript(String fileName) {
+        return scripts.computeIfAbsent(fileName, this::readScript);
+    }
+
+    private String readScript(String fileName) {
+        String path = getSqlFilePath(type, fileName);
+        try {
+            String sql = Files.readString(Path.of(path)).trim();
+            logger.info("Loaded SQL script: {}", path);
+            return sql.endsWith(";") ? sql.substring(0, sql.length() - 1) : sql;
+        } catch (IOException e) {
+            logger.error("Failed to read SQL script: {}", path, e);
+            throw new IllegalStateException("SQL script is unavailable: " + path, e);
+        }
+    }
+}
@@ -1,21 +1,33 @@
 package org.example.db;
 
 import com.codahale.metrics.MetricRegistry;
+import com.zaxxer.hikari.HikariDataSource;
 import org.example.config.ConfigLoader;
+import org.example.constants.ReplicaRouting;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.List;
 
 public class ConnectionManager {
     private static final Logger logger = LoggerFactory.getLogger(ConnectionManager.class);
+    private static final int DEFAULT_POOL_SIZE = 10;
+    private static final int DEFAULT_STICKY_MILLIS = 5_000;
     private static ConnectionManager instance;
     private DataSource dataSource;
+    private SerialWriter writer;
+    private ReplicaRouter replicaRouter;
+    private ReadYourWrites readYourWrites;
+    private final SqlDialect dialect;
 
     private ConnectionManager(Database database, MetricRegistry metricRegistry) {
         initDataSource(database, metricRegistry);
+        this.dialect = database.getDialect();
     }
 
     public static synchronized ConnectionManager getInstance(Database database, MetricRegistry metricRegistry) {
@@ -29,6 +41,15 @@ public class ConnectionManager {
         try {
             ConfigLoader configLoader = new ConfigLoader();
             this.dataSource = database.createDataSource(configLoader);
+            this.writer = database.createWriter(configLoader, metricRegistry);
+            List<DataSource> replicas = database.createReplicaDataSources(configLoader);
+            if (replicas != null && !replicas.isEmpty()) {
+                this.replicaRouter = new ReplicaRouter(replicas,
+                        ReplicaRouting.fromString(configLoader.getProperty("db.replica.routing", "round-robin")));
+                this.readYourWrites = new ReadYourWrites(Duration.ofMillis(
+                        configLoader.getIntProperty("db.replica.sticky.ms", DEFAULT_STICKY_MILLIS)));
+                logger.info("Routing reads to {} replicas", replicas.size());
+            }
         } catch (Exception e) {
             logger.error("Failed to initialize DataSource", e);
             throw new IllegalStateException("DataSource is not initialized. Ensure initDataSource() was successful.");
@@ -38,9 +59,61 @@ public class ConnectionManager {
     public Connection getConnection() {
         try {
             return dataSource.getConnection();
+        } catch (SQLTransientConnectionException e) {
+            // Hikari's acquisition timeout: every connection is busy
+            logger.warn("Connection pool exhausted: {}", e.getMessage());
+            throw new PoolExhaustedException("Database connection pool is exhausted", e);
         } catch (SQLException e) {
             logger.error("Failed to obtain database connection", e);
             throw new IllegalStateException("Database connection is unavailable. Please contact support.");
         }
     }
+
+    /**
+     * Connection for a read-only query. With replicas configured it comes from a replica, unless the current
+     * client wrote within the sticky window; a replica that cannot hand out a connection falls back to the primary.
+     */
+    public Connection getReadConnection() {
+        if (readsFromPrimary()) {
+            return getConnection();
+        }
+        try {
+            return replicaRouter.next().getConnection();
+        } catch (SQLException e) {
+            logger.warn("Replica connection unavailable, reading from the primary: {}", e.getMessage());
+            return getConnection();
+        }
+    }
+
+    // Whether getReadConnection() would use the primary for the current client
+    public boolean readsFromPrimary() {
+        return replicaRouter == null || readYourWrites.isSticky();
+    }
+
+    // A client inside its read-your-writes window; caches filled from replica reads must not answer it
+    public boolean isStickyToPrimary() {
+        return replicaRouter != null && readYourWrites.isSticky();
+    }
+
+    // Called after a committed write so the writing client keeps reading from the primary for a while
+    public void recordWrite() {
+        if (readYourWrites != null) {
+            readYourWrites.recordWrite();
+        }
+    }
+
+    // Null unless the database needs writes serialized; callers then write through a pooled connection
+    public SerialWriter getWriter() {
+        return writer;
+    }
+
+    public SqlDialect getDialect() {
+        return dialect;
+    }
+
+    public int getMaximumPoolSize() {
+        return dataSource instanceof HikariDataSource hikariDataSource
+                ? hikariDataSource.getMaximumPoolSize()
+                : DEFAULT_POOL_SIZE;
+    }
 }
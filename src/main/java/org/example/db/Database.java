@@ -1,9 +1,22 @@
 package org.example.db;
 
+import com.codahale.metrics.MetricRegistry;
 import org.example.config.ConfigLoader;
 
 import javax.sql.DataSource;
+import java.util.List;
 
 public interface Database {
     DataSource createDataSource(ConfigLoader configLoader);
-}
\ No newline at end of file
+    SqlDialect getDialect();
+
+    // Read-only copies of the primary; reads are spread over them when any are configured
+    default List<DataSource> createReplicaDataSources(ConfigLoader configLoader) {
+        return List.of();
+    }
+
+    // Databases with a single writer route all writes through one; null means writes use the pool directly
+    default SerialWriter createWriter(ConfigLoader configLoader, MetricRegistry metricRegistry) {
+        return null;
+    }
+}
@@ -0,0 +1,11 @@
+package org.example.db;
+
+/**
+ * No pooled connection (or writer slot) became free within the acquisition timeout. Unlike other connection
+ * failures this is expected under load, and callers answer it with 503 so clients back off and retry.
+ */
+public class PoolExhaustedException extends IllegalStateException {
+    public PoolExhaustedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,53 @@
+package org.example.db;
+
+import com.zaxxer.hikari.HikariConfig;
+import org.example.config.ConfigLoader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Hikari sizing and timeouts from the {@code <prefix>.pool.*} properties. The connection timeout is how long a
+ * request waits for a free connection before {@link ConnectionManager} reports the pool as exhausted, so its
+ * default is short: a saturated pool answers 503 quickly instead of holding requests for seconds.
+ */
+final class PoolSettings {
+    private static final Logger logger = LoggerFactory.getLogger(PoolSettings.class);
+    private static final long DEFAULT_CONNECTION_TIMEOUT_MS = 1_000;
+    private static final long DEFAULT_VALIDATION_TIMEOUT_MS = 500;
+    private static final long DEFAULT_IDLE_TIMEOUT_MS = 300_000;
+    private static final long DEFAULT_MAX_LIFETIME_MS = 1_800_000;
+    private static final long DEFAULT_LEAK_DETECTION_MS = 2_000;
+
+    private PoolSettings() {
+    }
+
+    static void apply(HikariConfig config, ConfigLoader configLoader, String prefix, int defaultMaxSize, int defaultMinIdle) {
+        String key = prefix + ".pool.";
+        int maxSize = (int) read(configLoader, key + "max.size", defaultMaxSize);
+        long connectionTimeout = read(configLoader, key + "connection.timeout.ms", DEFAULT_CONNECTION_TIMEOUT_MS);
+
+        config.setMaximumPoolSize(Math.max(1, maxSize));
+        config.setMinimumIdle((int) Math.min(maxSize, read(configLoader, key + "min.idle", defaultMinIdle)));
+        config.setConnectionTimeout(connectionTimeout);
+        // Hikari requires the validation timeout to be below the connection timeout
+        config.setValidationTimeout(Math.min(connectionTimeout,
+                read(configLoader, key + "validation.timeout.ms", DEFAULT_VALIDATION_TIMEOUT_MS)));
+        config.setIdleTimeout(read(configLoader, key + "idle.timeout.ms", DEFAULT_IDLE_TIMEOUT_MS));
+        config.setMaxLifetime(read(configLoader, key + "max.lifetime.ms", DEFAULT_MAX_LIFETIME_MS));
+        config.setLeakDetectionThreshold(read(configLoader, key + "leak.detection.ms", DEFAULT_LEAK_DETECTION_MS));
+        config.setInitializationFailTimeout(0);
+    }
+
+    private static long read(ConfigLoader configLoader, String key, long defaultValue) {
+        String value = configLoader.getProperty(key, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            logger.warn("Property '{}' is not a number: '{}', using default {}", key, value, defaultValue);
+            return defaultValue;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package org.example.db;
+
+import org.example.constants.DatabaseType;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.List;
+
+public class PostgresDialect extends AbstractSqlDialect {
+
+    public PostgresDialect() {
+        super(DatabaseType.POSTGRES);
+    }
+
+    @Override
+    public void setDate(PreparedStatement statement, int index, LocalDate date) throws SQLException {
+        if (date == null) {
+            statement.setNull(index, Types.DATE);
+        } else {
+            statement.setDate(index, Date.valueOf(date));
+        }
+    }
+
+    @Override
+    public LocalDate getDate(ResultSet rs, String column) throws SQLException {
+        Date date = rs.getDate(column);
+        return date != null ? date.toLocalDate() : null;
+    }
+
+    @Override
+    public boolean returnsInsertedRow() {
+        return true;
+    }
+
+    @Override
+    public boolean returnsBatchKeys() {
+        return true;
+    }
+
+    @Override
+    public int snapshotIsolation() {
+        return Connection.TRANSACTION_REPEATABLE_READ;
+    }
+
+    // A single array parameter, so every batch size shares one prepared statement
+    @Override
+    public String idInPredicate(String column, int count) {
+        return column + " = ANY(?)";
+    }
+
+    @Override
+    public void setIds(Connection connection, PreparedStatement statement, int index, List<Long> ids) throws SQLException {
+        statement.setArray(index, connection.createArrayOf("bigint", ids.toArray()));
+    }
+}
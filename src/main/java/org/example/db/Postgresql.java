@@ -7,18 +7,46 @@ import org.example.config.ConfigLoader;
 import org.example.constants.DatabaseType;
 
 import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
 
 public class Postgresql implements Database {
+    private static final int DEFAULT_POOL_SIZE = 15;
+    private static final int DEFAULT_MIN_IDLE = 1;
     private final MetricRegistry metricRegistry;
+    private final SqlDialect dialect = new PostgresDialect();
 
     public Postgresql(MetricRegistry metricRegistry) {
         this.metricRegistry = metricRegistry;
     }
 
+    @Override
+    public SqlDialect getDialect() {
+        return dialect;
+    }
+
     @Override
     public DataSource createDataSource(ConfigLoader configLoader) {
+        return createPool(configLoader, configLoader.getDbUrl(DatabaseType.POSTGRES), null);
+    }
+
+    // Replicas share the primary's credentials and pool settings
+    @Override
+    public List<DataSource> createReplicaDataSources(ConfigLoader configLoader) {
+        List<String> urls = configLoader.getListProperty("postgres.replica.urls");
+        List<DataSource> replicas = new ArrayList<>(urls.size());
+        for (int i = 0; i < urls.size(); i++) {
+            replicas.add(createPool(configLoader, urls.get(i), "postgres-replica-" + (i + 1)));
+        }
+        return replicas;
+    }
+
+    private DataSource createPool(ConfigLoader configLoader, String url, String poolName) {
         HikariConfig config = new HikariConfig();
-        config.setJdbcUrl(configLoader.getDbUrl(DatabaseType.POSTGRES));
+        config.setJdbcUrl(url);
+        if (poolName != null) {
+            config.setPoolName(poolName);
+        }
         if (configLoader.getDbUser(DatabaseType.POSTGRES) != null) {
             config.setUsername(configLoader.getDbUser(DatabaseType.POSTGRES));
         }
@@ -26,19 +54,15 @@ public class Postgresql implements Database {
             config.setPassword(configLoader.getDbPassword(DatabaseType.POSTGRES));
         }
 
-        config.addDataSourceProperty("cachePrepStmts", "true");
-        config.addDataSourceProperty("prepStmtCacheSize", "250");
-        config.addDataSourceProperty("prepStmtCacheSqlLimit", "2048");
+        // pgjdbc's own statement cache (the cachePrepStmts family is MySQL's and ignored here): after the threshold
+        // a query runs as a named server-side statement, reused by every later lease of the same connection
+        config.addDataSourceProperty("prepareThreshold", "1");
+        config.addDataSourceProperty("preparedStatementCacheQueries", "256");
+        config.addDataSourceProperty("preparedStatementCacheSizeMiB", "5");
 
         config.setMetricRegistry(this.metricRegistry);
 
-        config.setConnectionTimeout(20_000);
-        config.setIdleTimeout(300_000);
-        config.setMaxLifetime(1_800_000);
-        config.setMinimumIdle(1);
-        config.setMaximumPoolSize(15);
-        config.setInitializationFailTimeout(0);
-        config.setLeakDetectionThreshold(2_000);
+        PoolSettings.apply(config, configLoader, "postgres", DEFAULT_POOL_SIZE, DEFAULT_MIN_IDLE);
 
         return new HikariDataSource(config);
     }
@@ -0,0 +1,149 @@
+package org.example.db;
+
+import com.codahale.metrics.MetricRegistry;
+import com.zaxxer.hikari.pool.ProxyConnection;
+import org.example.cache.CacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Prepared statements cached per connection and keyed by SQL, so a statement is compiled once per connection
+ * instead of once per operation. This pays off on connections that outlive a single operation, such as the SQLite
+ * writer's. Statements are always prepared through the connection the caller holds; closing a handed-out statement
+ * only resets it and puts it back in the cache, and the cache entry goes away with the connection.
+ * Pooled connections are not cached: Hikari closes a lease's statements when the connection is returned, so they
+ * are prepared plainly and PostgreSQL reuses its server-side statements through the driver's own cache instead.
+ * A statement already in use on the connection also falls back to a plain prepareStatement.
+ */
+public class PreparedStatementCache {
+    private static final Logger logger = LoggerFactory.getLogger(PreparedStatementCache.class);
+    private static final int MAX_STATEMENTS_PER_CONNECTION = 128;
+    private static PreparedStatementCache instance;
+
+    // Weak keys: a closed connection has already closed its statements, only the entry is left to drop
+    private final Map<Connection, ConnectionStatements> byConnection = Collections.synchronizedMap(new WeakHashMap<>());
+    private final CacheMetrics cacheMetrics;
+
+    private PreparedStatementCache(MetricRegistry metricRegistry) {
+        this.cacheMetrics = new CacheMetrics("statements", metricRegistry);
+    }
+
+    public static synchronized PreparedStatementCache getInstance(MetricRegistry metricRegistry) {
+        if (instance == null) {
+            instance = new PreparedStatementCache(metricRegistry);
+        }
+        return instance;
+    }
+
+    public PreparedStatement prepare(Connection connection, String sql) throws SQLException {
+        return prepare(connection, sql, Statement.NO_GENERATED_KEYS);
+    }
+
+    public PreparedStatement prepare(Connection connection, String sql, int autoGeneratedKeys) throws SQLException {
+        return connection instanceof ProxyConnection
+                ? prepareStatement(connection, sql, autoGeneratedKeys)
+                : lease(connection, sql, autoGeneratedKeys);
+    }
+
+    private PreparedStatement lease(Connection connection, String sql, int autoGeneratedKeys) throws SQLException {
+        ConnectionStatements statements = byConnection.computeIfAbsent(connection, c -> new ConnectionStatements());
+
+        String key = autoGeneratedKeys == Statement.RETURN_GENERATED_KEYS ? "keys:" + sql : sql;
+        synchronized (statements) {
+            CachedStatement cached = statements.get(key);
+            if (cached != null && !cached.inUse && !cached.delegate.isClosed()) {
+                cacheMetrics.recordHit();
+                cached.inUse = true;
+                return cached;
+            }
+            if (cached != null && cached.inUse) {
+                // The same SQL is already open on this connection; the second one is not cached
+                return prepareStatement(connection, sql, autoGeneratedKeys);
+            }
+
+            cacheMetrics.recordMiss();
+            CachedStatement created = new CachedStatement(prepareStatement(connection, sql, autoGeneratedKeys));
+            created.inUse = true;
+            statements.put(key, created);
+            return created;
+        }
+    }
+
+    private static PreparedStatement prepareStatement(Connection connection, String sql, int autoGeneratedKeys)
+            throws SQLException {
+        return autoGeneratedKeys == Statement.NO_GENERATED_KEYS
+                ? connection.prepareStatement(sql)
+                : connection.prepareStatement(sql, autoGeneratedKeys);
+    }
+
+    private class ConnectionStatements extends LinkedHashMap<String, CachedStatement> {
+        private ConnectionStatements() {
+            super(16, 0.75f, true);
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedStatement> eldest) {
+            if (size() <= MAX_STATEMENTS_PER_CONNECTION || eldest.getValue().inUse) {
+                return false;
+            }
+            cacheMetrics.recordEviction();
+            closeQuietly(eldest.getValue().delegate);
+            return true;
+        }
+    }
+
+    private static class CachedStatement extends DelegatingPreparedStatement {
+        private volatile boolean inUse;
+
+        private CachedStatement(PreparedStatement statement) {
+            super(statement);
+        }
+
+        @Override
+        public void close() {
+            release();
+        }
+
+        @Override
+        public boolean isClosed() throws SQLException {
+            return !inUse || delegate.isClosed();
+        }
+
+        // Leaves the statement as a freshly prepared one; a statement that cannot be reset is closed for good
+        private void release() {
+            if (!inUse) {
+                return;
+            }
+            try {
+                ResultSet resultSet = delegate.getResultSet();
+                if (resultSet != null) {
+                    resultSet.close();
+                }
+                delegate.clearParameters();
+                delegate.clearBatch();
+            } catch (SQLException e) {
+                logger.warn("Could not reset cached statement, closing it: {}", e.getMessage());
+                closeQuietly(delegate);
+            }
+            inUse = false;
+        }
+    }
+
+    private static void closeQuietly(Statement statement) {
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            logger.debug("Error closing cached statement", e);
+        }
+    }
+}
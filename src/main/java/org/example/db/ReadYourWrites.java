@@ -0,0 +1,57 @@
+package org.example.db;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Read-your-writes for replica routing. The HTTP layer binds each request thread to a client key; once that
+ * client has written, its reads go to the primary for the sticky window, by which time the replicas have
+ * normally caught up. Threads without a bound client are never sticky.
+ */
+public class ReadYourWrites {
+    private static final ThreadLocal<String> CURRENT_CLIENT = new ThreadLocal<>();
+    private static final int SWEEP_THRESHOLD = 10_000;
+    private final long windowNanos;
+    private final Map<String, Long> stickyUntil = new ConcurrentHashMap<>();
+
+    public ReadYourWrites(Duration window) {
+        this.windowNanos = window.toNanos();
+    }
+
+    public static void bind(String client) {
+        CURRENT_CLIENT.set(client);
+    }
+
+    public static void clear() {
+        CURRENT_CLIENT.remove();
+    }
+
+    public void recordWrite() {
+        String client = CURRENT_CLIENT.get();
+        if (client == null || windowNanos <= 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        stickyUntil.put(client, now + windowNanos);
+        if (stickyUntil.size() > SWEEP_THRESHOLD) {
+            stickyUntil.values().removeIf(deadline -> deadline - now < 0);
+        }
+    }
+
+    public boolean isSticky() {
+        String client = CURRENT_CLIENT.get();
+        if (client == null) {
+            return false;
+        }
+        Long deadline = stickyUntil.get(client);
+        if (deadline == null) {
+            return false;
+        }
+        if (deadline - System.nanoTime() < 0) {
+            stickyUntil.remove(client, deadline);
+            return false;
+        }
+        return true;
+    }
+}
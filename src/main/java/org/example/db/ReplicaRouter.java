@@ -0,0 +1,57 @@
+package org.example.db;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.example.constants.ReplicaRouting;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Picks the replica for the next read: in turn, or the one whose pool has the fewest connections in use.
+ * Least-connections starts its scan at the next round-robin position, so ties (e.g. idle replicas) are spread.
+ */
+public class ReplicaRouter {
+    private final List<DataSource> replicas;
+    private final ReplicaRouting routing;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRouter(List<DataSource> replicas, ReplicaRouting routing) {
+        if (replicas.isEmpty()) {
+            throw new IllegalArgumentException("At least one replica is required");
+        }
+        this.replicas = List.copyOf(replicas);
+        this.routing = routing;
+    }
+
+    public DataSource next() {
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        if (routing == ReplicaRouting.ROUND_ROBIN) {
+            return replicas.get(start);
+        }
+        DataSource best = null;
+        int fewest = Integer.MAX_VALUE;
+        for (int i = 0; i < replicas.size(); i++) {
+            DataSource replica = replicas.get((start + i) % replicas.size());
+            int active = activeConnections(replica);
+            if (active < fewest) {
+                best = replica;
+                fewest = active;
+            }
+        }
+        return best;
+    }
+
+    public int size() {
+        return replicas.size();
+    }
+
+    private static int activeConnections(DataSource dataSource) {
+        if (dataSource instanceof HikariDataSource hikariDataSource) {
+            HikariPoolMXBean pool = hikariDataSource.getHikariPoolMXBean();
+            return pool == null ? 0 : pool.getActiveConnections();
+        }
+        return 0;
+    }
+}
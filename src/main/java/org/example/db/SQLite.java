@@ -13,11 +13,25 @@ import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
 
+/**
+ * SQLite allows a single writer per database file. The pool handed to the services is read-only; writes go
+ * through a {@link SerialWriter} on its own connection, which opens the file in WAL mode so readers are never
+ * blocked by the writer. Pragmas are passed as driver properties and applied whenever a connection is opened.
+ */
 public class SQLite implements Database {
     private static final Logger logger = LoggerFactory.getLogger(SQLite.class);
+    private static final int DEFAULT_READ_POOL_SIZE = 4;
+    private static final int DEFAULT_WRITE_QUEUE_SIZE = 10_000;
+    private static final int DEFAULT_WRITE_GROUP_SIZE = 500;
+    private static final int DEFAULT_BUSY_TIMEOUT_MS = 5_000;
+    private static final int DEFAULT_ENQUEUE_TIMEOUT_MS = 5_000;
     private final String fileName;
     private final MetricRegistry metricRegistry;
+    private final SqlDialect dialect = new SqliteDialect();
 
     public SQLite(String fileName, MetricRegistry metricRegistry) {
         this.fileName = fileName;
@@ -25,23 +39,66 @@ public class SQLite implements Database {
         createNewDatabase();
     }
 
+    @Override
+    public SqlDialect getDialect() {
+        return dialect;
+    }
+
     @Override
     public DataSource createDataSource(ConfigLoader configLoader) {
+        return createReadPool(configLoader, configLoader.getDbUrl(DatabaseType.SQLITE), "sqlite-read");
+    }
+
+    // Replicas are copies of the database file kept up to date outside the application (e.g. Litestream)
+    @Override
+    public List<DataSource> createReplicaDataSources(ConfigLoader configLoader) {
+        List<String> urls = configLoader.getListProperty("sqlite.replica.urls");
+        List<DataSource> replicas = new ArrayList<>(urls.size());
+        for (int i = 0; i < urls.size(); i++) {
+            replicas.add(createReadPool(configLoader, urls.get(i), "sqlite-replica-" + (i + 1)));
+        }
+        return replicas;
+    }
+
+    private DataSource createReadPool(ConfigLoader configLoader, String url, String poolName) {
         HikariConfig config = new HikariConfig();
         config.setDriverClassName("org.sqlite.JDBC");
-        config.setJdbcUrl(configLoader.getDbUrl(DatabaseType.SQLITE));
+        config.setJdbcUrl(url);
+        config.setDataSourceProperties(pragmas(configLoader));
+        // Every write goes through the writer, so a write on a pooled connection is a bug
+        config.setConnectionInitSql("PRAGMA query_only = true");
+        config.setPoolName(poolName);
 
         config.setMetricRegistry(this.metricRegistry);
 
-        config.setConnectionTimeout(20_000);
-        config.setIdleTimeout(300_000);
-        config.setMaxLifetime(1_800_000);
-        config.setInitializationFailTimeout(0);
-        config.setLeakDetectionThreshold(2_000);
+        PoolSettings.apply(config, configLoader, "sqlite", DEFAULT_READ_POOL_SIZE, DEFAULT_READ_POOL_SIZE);
 
         return new HikariDataSource(config);
     }
 
+    @Override
+    public SerialWriter createWriter(ConfigLoader configLoader, MetricRegistry metricRegistry) {
+        String url = configLoader.getDbUrl(DatabaseType.SQLITE);
+        Properties properties = pragmas(configLoader);
+        properties.setProperty("journal_mode", configLoader.getProperty("sqlite.journal.mode", "WAL"));
+        properties.setProperty("synchronous", configLoader.getProperty("sqlite.synchronous", "NORMAL"));
+        return new SerialWriter(() -> DriverManager.getConnection(url, properties),
+                configLoader.getIntProperty("sqlite.write.queue.size", DEFAULT_WRITE_QUEUE_SIZE),
+                configLoader.getIntProperty("sqlite.write.group.size", DEFAULT_WRITE_GROUP_SIZE),
+                configLoader.getIntProperty("sqlite.write.enqueue.timeout.ms", DEFAULT_ENQUEUE_TIMEOUT_MS),
+                metricRegistry);
+    }
+
+    // Pragmas sqlite-jdbc applies when it opens a connection; journal mode and synchronous only matter to the writer
+    private static Properties pragmas(ConfigLoader configLoader) {
+        Properties properties = new Properties();
+        properties.setProperty("busy_timeout", configLoader.getProperty("sqlite.busy.timeout.ms", String.valueOf(DEFAULT_BUSY_TIMEOUT_MS)));
+        properties.setProperty("cache_size", configLoader.getProperty("sqlite.cache.size", "-65536"));
+        properties.setProperty("mmap_size", configLoader.getProperty("sqlite.mmap.size", "268435456"));
+        properties.setProperty("temp_store", "MEMORY");
+        return properties;
+    }
+
     private void createNewDatabase() {
         String url = "jdbc:sqlite:" + this.fileName;
 
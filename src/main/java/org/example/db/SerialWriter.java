@@ -0,0 +1,230 @@
+package org.example.db;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single writer for databases that only allow one writer at a time (SQLite). Writes from request threads are
+ * queued and executed by one thread on a dedicated connection. Everything queued when the writer picks up work
+ * is committed as one transaction (group commit), so concurrent writers share a single sync instead of
+ * contending for the file lock. Each write runs in its own savepoint: a failing write is rolled back alone and
+ * its caller gets the exception, the rest of the group still commits.
+ * Callers block until the group containing their write has committed, or until the writer stops: writes still
+ * queued then fail instead of waiting forever.
+ */
+public class SerialWriter implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(SerialWriter.class);
+    private static final long POLL_INTERVAL_MS = 100;
+
+    /**
+     * Opens the writer's connection; called again after the connection has been lost.
+     */
+    @FunctionalInterface
+    public interface ConnectionFactory {
+        Connection open() throws SQLException;
+    }
+
+    private final ConnectionFactory connectionFactory;
+    private final BlockingQueue<WriteTask<?>> queue;
+    private final int maxGroupSize;
+    private final long enqueueTimeoutMillis;
+    private final Timer commitTimer;
+    private final Histogram groupSizes;
+    private final Thread thread;
+    private volatile boolean running = true;
+    private Connection connection;
+
+    public SerialWriter(ConnectionFactory connectionFactory, int queueSize, int maxGroupSize,
+                        long enqueueTimeoutMillis, MetricRegistry metricRegistry) {
+        this.connectionFactory = connectionFactory;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueSize));
+        this.maxGroupSize = Math.max(1, maxGroupSize);
+        this.enqueueTimeoutMillis = enqueueTimeoutMillis;
+        this.commitTimer = metricRegistry.timer("db.writer.commits");
+        this.groupSizes = metricRegistry.histogram("db.writer.group.size");
+        metricRegistry.register("db.writer.queue.size", (Gauge<Integer>) queue::size);
+        this.thread = new Thread(this::run, "db-writer");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    public <R> R execute(SqlWork<R> work) throws SQLException {
+        if (!running) {
+            throw new SQLException("Writer is closed");
+        }
+        WriteTask<R> task = new WriteTask<>(work);
+        try {
+            if (!queue.offer(task, enqueueTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new PoolExhaustedException("Write queue is full", null);
+            }
+            // close() may have run since the check above; if the writer did not take the task it never will
+            if (!running && queue.remove(task)) {
+                throw new SQLException("Writer is closed");
+            }
+            return task.future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for the writer", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof SQLException sqlException) {
+                throw sqlException;
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new SQLException("Write failed", cause);
+        }
+    }
+
+    // Stops taking new writes; whatever is already queued is still committed, unless the writer does not get
+    // through it within 10 seconds, in which case the rest fails
+    @Override
+    public void close() {
+        running = false;
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (thread.isAlive()) {
+            logger.warn("Writer did not stop within 10 seconds, failing {} queued writes", queue.size());
+        }
+        failQueued();
+    }
+
+    private void run() {
+        List<WriteTask<?>> group = new ArrayList<>(maxGroupSize);
+        try {
+            while (running || !queue.isEmpty()) {
+                try {
+                    WriteTask<?> first = queue.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    group.add(first);
+                    queue.drainTo(group, maxGroupSize - 1);
+                    commitGroup(group);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    running = false;
+                } catch (RuntimeException e) {
+                    logger.error("Writer failed on a group of {} writes", group.size(), e);
+                    group.forEach(task -> task.future.completeExceptionally(e));
+                } catch (Error e) {
+                    group.forEach(task -> task.future.completeExceptionally(e));
+                    throw e;
+                } finally {
+                    group.clear();
+                }
+            }
+        } finally {
+            // Also reached when the thread dies of an Error: nobody would take the queued writes any more
+            running = false;
+            failQueued();
+            closeConnection();
+            logger.info("Writer stopped");
+        }
+    }
+
+    private void failQueued() {
+        List<WriteTask<?>> abandoned = new ArrayList<>();
+        queue.drainTo(abandoned);
+        SQLException closed = new SQLException("Writer is closed");
+        abandoned.forEach(task -> task.future.completeExceptionally(closed));
+    }
+
+    private void commitGroup(List<WriteTask<?>> group) {
+        groupSizes.update(group.size());
+        try (Timer.Context ignored = commitTimer.time()) {
+            Connection conn = connection();
+            for (WriteTask<?> task : group) {
+                Savepoint savepoint = conn.setSavepoint();
+                try {
+                    task.run(conn);
+                    conn.releaseSavepoint(savepoint);
+                } catch (SQLException | RuntimeException e) {
+                    conn.rollback(savepoint);
+                    task.failure = e;
+                }
+            }
+            conn.commit();
+        } catch (SQLException e) {
+            logger.error("Group commit of {} writes failed", group.size(), e);
+            rollbackQuietly();
+            group.forEach(task -> task.future.completeExceptionally(e));
+            return;
+        }
+        group.forEach(WriteTask::complete);
+    }
+
+    private Connection connection() throws SQLException {
+        if (connection == null || connection.isClosed()) {
+            connection = connectionFactory.open();
+            connection.setAutoCommit(false);
+        }
+        return connection;
+    }
+
+    private void rollbackQuietly() {
+        try {
+            if (connection != null && !connection.isClosed()) {
+                connection.rollback();
+            }
+        } catch (SQLException e) {
+            logger.warn("Rollback after failed group commit failed, reopening the writer connection", e);
+            closeConnection();
+        }
+    }
+
+    private void closeConnection() {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            logger.warn("Failed to close the writer connection", e);
+        }
+        connection = null;
+    }
+
+    private static class WriteTask<R> {
+        private final SqlWork<R> work;
+        private final CompletableFuture<R> future = new CompletableFuture<>();
+        private R result;
+        private Exception failure;
+
+        private WriteTask(SqlWork<R> work) {
+            this.work = work;
+        }
+
+        private void run(Connection connection) throws SQLException {
+            result = work.execute(connection);
+        }
+
+        // Results are only handed out once the group has committed
+        private void complete() {
+            if (failure != null) {
+                future.completeExceptionally(failure);
+            } else {
+                future.complete(result);
+            }
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package org.example.db;
+
+import org.example.constants.DatabaseType;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Everything that differs between the supported databases. Resolved once per {@link Database},
+ * so mappers and services never inspect connection metadata on the request path.
+ */
+public interface SqlDialect {
+    DatabaseType getType();
+
+    void setDate(PreparedStatement statement, int index, LocalDate date) throws SQLException;
+
+    LocalDate getDate(ResultSet rs, String column) throws SQLException;
+
+    // Whether getGeneratedKeys() returns the whole inserted row rather than just its key
+    boolean returnsInsertedRow();
+
+    // Whether getGeneratedKeys() after executeBatch() reports a key for every row of the batch
+    boolean returnsBatchKeys();
+
+    // Lowest isolation level under which every query of a transaction reads the same snapshot
+    int snapshotIsolation();
+
+    // Predicate matching a column against count IDs, bound with setIds()
+    String idInPredicate(String column, int count);
+
+    void setIds(Connection connection, PreparedStatement statement, int index, List<Long> ids) throws SQLException;
+
+    // Contents of a per-dialect SQL file (see Constants for the file names), loaded once and cached
+    String getScript(String fileName);
+}
@@ -0,0 +1,13 @@
+package org.example.db;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * A unit of database work run on a connection it does not own: it must not close the connection or change its
+ * transaction state, the caller commits or rolls back around it.
+ */
+@FunctionalInterface
+public interface SqlWork<R> {
+    R execute(Connection connection) throws SQLException;
+}
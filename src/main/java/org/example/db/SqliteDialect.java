@@ -0,0 +1,87 @@
+package org.example.db;
+
+import org.example.constants.DatabaseType;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+public class SqliteDialect extends AbstractSqlDialect {
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    public SqliteDialect() {
+        super(DatabaseType.SQLITE);
+    }
+
+    // SQLite has no date type; dates are stored as ISO text so the report queries can use julianday()
+    @Override
+    public void setDate(PreparedStatement statement, int index, LocalDate date) throws SQLException {
+        if (date == null) {
+            statement.setNull(index, Types.VARCHAR);
+        } else {
+            statement.setString(index, date.format(DATE_FORMATTER));
+        }
+    }
+
+    // Accepts ISO text as well as the epoch milliseconds the driver writes for java.sql.Date
+    @Override
+    public LocalDate getDate(ResultSet rs, String column) throws SQLException {
+        Object value = rs.getObject(column);
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof Number millis) {
+            return new Date(millis.longValue()).toLocalDate();
+        }
+        String text = value.toString();
+        return LocalDate.parse(text.length() > 10 ? text.substring(0, 10) : text, DATE_FORMATTER);
+    }
+
+    @Override
+    public boolean returnsInsertedRow() {
+        return false;
+    }
+
+    // sqlite-jdbc only reports last_insert_rowid() for a batch, and row IDs are not guaranteed to be consecutive
+    @Override
+    public boolean returnsBatchKeys() {
+        return false;
+    }
+
+    // The only level sqlite-jdbc accepts besides READ_UNCOMMITTED; a read transaction already sees one snapshot
+    @Override
+    public int snapshotIsolation() {
+        return Connection.TRANSACTION_SERIALIZABLE;
+    }
+
+    // SQLite has no array parameters. The IN list is padded to the next power of two, so a handful of
+    // statements cover every batch size instead of one statement per size.
+    @Override
+    public String idInPredicate(String column, int count) {
+        int slots = slotsFor(count);
+        StringBuilder predicate = new StringBuilder(column.length() + 6 + slots * 3).append(column).append(" IN (?");
+        for (int i = 1; i < slots; i++) {
+            predicate.append(", ?");
+        }
+        return predicate.append(')').toString();
+    }
+
+    // Padding repeats the last ID, which matches no additional rows
+    @Override
+    public void setIds(Connection connection, PreparedStatement statement, int index, List<Long> ids) throws SQLException {
+        int slots = slotsFor(ids.size());
+        for (int i = 0; i < slots; i++) {
+            statement.setLong(index + i, ids.get(Math.min(i, ids.size() - 1)));
+        }
+    }
+
+    static int slotsFor(int count) {
+        return count <= 1 ? 1 : Integer.highestOneBit(count - 1) << 1;
+    }
+}
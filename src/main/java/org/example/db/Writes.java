@@ -0,0 +1,57 @@
+package org.example.db;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Runs writes the way the configured database wants them: through its {@link SerialWriter} when it has one,
+ * otherwise on a pooled connection. The work must not manage the transaction itself. Committed writes are
+ * recorded for read-your-writes replica routing.
+ */
+public final class Writes {
+    private static final Logger logger = LoggerFactory.getLogger(Writes.class);
+
+    private Writes() {
+    }
+
+    // A single statement; on a pooled connection it runs in auto-commit mode
+    public static <R> R run(ConnectionManager connectionManager, SqlWork<R> work) throws SQLException {
+        SerialWriter writer = connectionManager.getWriter();
+        R result;
+        if (writer != null) {
+            result = writer.execute(work);
+        } else {
+            try (Connection connection = connectionManager.getConnection()) {
+                result = work.execute(connection);
+            }
+        }
+        connectionManager.recordWrite();
+        return result;
+    }
+
+    // Several statements that must commit together
+    public static <R> R inTransaction(ConnectionManager connectionManager, SqlWork<R> work) throws SQLException {
+        SerialWriter writer = connectionManager.getWriter();
+        R result;
+        if (writer != null) {
+            result = writer.execute(work);
+        } else {
+            try (Connection connection = connectionManager.getConnection()) {
+                connection.setAutoCommit(false);
+                try {
+                    result = work.execute(connection);
+                    connection.commit();
+                } catch (SQLException | RuntimeException e) {
+                    logger.debug("Rolling back transaction: {}", e.getMessage());
+                    connection.rollback();
+                    throw e;
+                }
+            }
+        }
+        connectionManager.recordWrite();
+        return result;
+    }
+}
@@ -1,42 +1,29 @@
 package org.example.formatter;
 
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
-import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateSerializer;
 import com.sun.net.httpserver.HttpExchange;
+import org.example.constants.WireFormat;
 import org.example.mapper.json.JsonEntityMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.util.Scanner;
+import java.io.OutputStream;
 
 public class JsonFormatter {
     private static final Logger logger = LoggerFactory.getLogger(JsonFormatter.class);
 
-    private static final ObjectMapper objectMapper = new ObjectMapper();
-    private static final JavaTimeModule module = new JavaTimeModule();
-    private static final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-
-    public JsonFormatter() {
-        module.addSerializer(LocalDate.class, new LocalDateSerializer(formatter));
-        objectMapper.registerModule(module);
-        objectMapper.enable(SerializationFeature.INDENT_OUTPUT);
-    }
+    private final ObjectMapper objectMapper = JsonMapperRegistry.objectMapper();
 
     // Generic method to convert JSON to an object using the appropriate JsonEntityMapper
     public <T> T jsonToObject(HttpExchange exchange, JsonEntityMapper<T> mapper) {
-        logger.info("Converting JSON from HTTP exchange to object");
-        String json;
-        try (Scanner scanner = new Scanner(exchange.getRequestBody(), StandardCharsets.UTF_8)) {
-            json = scanner.useDelimiter("\\A").next();
-            logger.debug("Received JSON: {}", json);
-            return mapper.fromJson(json);
+        logger.debug("Converting JSON from HTTP exchange to object");
+        try {
+            // Parsed straight from the request stream, without buffering the body into a String first
+            return mapper.fromJson(exchange.getRequestBody());
         } catch (Exception e) {
             logger.error("Failed to convert JSON from HTTP exchange to object", e);
             throw new RuntimeException("Error parsing JSON request", e);
@@ -45,7 +32,7 @@ public class JsonFormatter {
 
     // Generic method to convert an object to JSON using the appropriate JsonEntityMapper
     public <T> String objectToJson(T obj, JsonEntityMapper<T> mapper) {
-        logger.info("Converting object to JSON using custom mapper: {}", obj);
+        logger.debug("Converting object to JSON using custom mapper: {}", obj);
         try {
             String json = mapper.toJson(obj);
             logger.debug("Converted object to JSON: {}", json);
@@ -58,7 +45,7 @@ public class JsonFormatter {
 
     // Convert an object to JSON (for single objects)
     public <T> String objectToJson(T obj) {
-        logger.info("Converting object to JSON: {}", obj);
+        logger.debug("Converting object to JSON: {}", obj);
         try {
             String json = objectMapper.writeValueAsString(obj);
             logger.debug("Converted object to JSON: {}", json);
@@ -69,11 +56,30 @@ public class JsonFormatter {
         }
     }
 
+    // UTF-8 encoded JSON, ready to be written to a response without an intermediate String
+    public <T> byte[] objectToJsonBytes(T obj, JsonEntityMapper<T> mapper) {
+        try {
+            return mapper.toJsonBytes(obj);
+        } catch (Exception e) {
+            logger.error("Failed to convert object to JSON using custom mapper", e);
+            throw new RuntimeException("Error serializing object to JSON", e);
+        }
+    }
+
+    public byte[] objectToJsonBytes(Object obj) {
+        try {
+            return JsonMapperRegistry.writer().writeValueAsBytes(obj);
+        } catch (JsonProcessingException e) {
+            logger.error("Failed to convert object to JSON", e);
+            throw new RuntimeException("Failed to convert object to JSON", e);
+        }
+    }
+
     // Convert JSON to an object of the given class
     public <T> T jsonToObject(HttpExchange exchange, Class<T> clazz) {
-        logger.info("Converting JSON from HTTP exchange to object of type {}", clazz.getSimpleName());
+        logger.debug("Converting JSON from HTTP exchange to object of type {}", clazz.getSimpleName());
         try {
-            T obj = objectMapper.readValue(exchange.getRequestBody(), clazz);
+            T obj = JsonMapperRegistry.readerFor(clazz).readValue(exchange.getRequestBody());
             logger.debug("Converted JSON to object: {}", obj);
             return obj;
         } catch (IOException e) {
@@ -81,4 +87,61 @@ public class JsonFormatter {
             throw new RuntimeException("Failed to convert JSON to object", e);
         }
     }
-}
\ No newline at end of file
+
+    // Generator for writing large JSON documents straight to a stream, e.g. an HTTP response body
+    public JsonGenerator createGenerator(OutputStream out) throws IOException {
+        return objectMapper.createGenerator(out, JsonEncoding.UTF8)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+    }
+
+    // Request body in the negotiated format; JSON goes through the same path as jsonToObject
+    public <T> T readObject(HttpExchange exchange, JsonEntityMapper<T> mapper, WireFormat format) {
+        if (format == WireFormat.JSON) {
+            return jsonToObject(exchange, mapper);
+        }
+        try {
+            return mapper.read(exchange.getRequestBody(), format);
+        } catch (Exception e) {
+            logger.error("Failed to convert {} from HTTP exchange to object", format, e);
+            throw new RuntimeException("Error parsing " + format + " request", e);
+        }
+    }
+
+    public <T> T readObject(HttpExchange exchange, Class<T> clazz, WireFormat format) {
+        if (format == WireFormat.JSON) {
+            return jsonToObject(exchange, clazz);
+        }
+        try {
+            return JsonMapperRegistry.objectMapper(format).readValue(exchange.getRequestBody(), clazz);
+        } catch (IOException e) {
+            logger.error("Failed to convert {} to object of type {}", format, clazz.getSimpleName(), e);
+            throw new RuntimeException("Failed to convert " + format + " to object", e);
+        }
+    }
+
+    public <T> byte[] objectToBytes(T obj, JsonEntityMapper<T> mapper, WireFormat format) {
+        try {
+            return mapper.toBytes(obj, format);
+        } catch (Exception e) {
+            logger.error("Failed to convert object to {} using custom mapper", format, e);
+            throw new RuntimeException("Error serializing object to " + format, e);
+        }
+    }
+
+    public byte[] objectToBytes(Object obj, WireFormat format) {
+        if (format == WireFormat.JSON) {
+            return objectToJsonBytes(obj);
+        }
+        try {
+            return JsonMapperRegistry.objectMapper(format).writeValueAsBytes(obj);
+        } catch (JsonProcessingException e) {
+            logger.error("Failed to convert object to {}", format, e);
+            throw new RuntimeException("Failed to convert object to " + format, e);
+        }
+    }
+
+    public JsonGenerator createGenerator(OutputStream out, WireFormat format) throws IOException {
+        return JsonMapperRegistry.objectMapper(format).createGenerator(out, JsonEncoding.UTF8)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+    }
+}
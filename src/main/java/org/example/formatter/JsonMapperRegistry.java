@@ -0,0 +1,85 @@
+package org.example.formatter;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateSerializer;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.example.constants.WireFormat;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The single, fully configured {@link ObjectMapper} of the application, with readers and writers
+ * prebuilt per type. Readers and writers are immutable and thread-safe, so they are shared by all requests.
+ * The binary formats (CBOR, Smile) get mappers with the same configuration, so every format carries the same fields.
+ */
+public final class JsonMapperRegistry {
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final ObjectMapper OBJECT_MAPPER = createObjectMapper();
+    private static final ObjectWriter WRITER = OBJECT_MAPPER.writer();
+    private static final Map<Class<?>, ObjectReader> READERS = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, ObjectWriter> WRITERS = new ConcurrentHashMap<>();
+    private static final Map<WireFormat, ObjectMapper> BINARY_MAPPERS = createBinaryMappers();
+
+    private JsonMapperRegistry() {
+    }
+
+    public static ObjectMapper objectMapper() {
+        return OBJECT_MAPPER;
+    }
+
+    public static ObjectWriter writer() {
+        return WRITER;
+    }
+
+    public static ObjectReader readerFor(Class<?> type) {
+        return READERS.computeIfAbsent(type, OBJECT_MAPPER::readerFor);
+    }
+
+    public static ObjectWriter writerFor(Class<?> type) {
+        return WRITERS.computeIfAbsent(type, OBJECT_MAPPER::writerFor);
+    }
+
+    public static ObjectMapper objectMapper(WireFormat format) {
+        return format == WireFormat.JSON ? OBJECT_MAPPER : BINARY_MAPPERS.get(format);
+    }
+
+    // Binary readers and writers are not cached here; entity mappers build theirs once per format
+    public static ObjectReader readerFor(WireFormat format, Class<?> type) {
+        return format == WireFormat.JSON ? readerFor(type) : BINARY_MAPPERS.get(format).readerFor(type);
+    }
+
+    public static ObjectWriter writerFor(WireFormat format, Class<?> type) {
+        return format == WireFormat.JSON ? writerFor(type) : BINARY_MAPPERS.get(format).writerFor(type);
+    }
+
+    private static Map<WireFormat, ObjectMapper> createBinaryMappers() {
+        Map<WireFormat, ObjectMapper> mappers = new EnumMap<>(WireFormat.class);
+        mappers.put(WireFormat.CBOR, createObjectMapper(new CBORFactory()));
+        mappers.put(WireFormat.SMILE, createObjectMapper(new SmileFactory()));
+        return mappers;
+    }
+
+    private static ObjectMapper createObjectMapper() {
+        return createObjectMapper(new JsonFactory());
+    }
+
+    // Output is compact; pretty printing only costs bytes and CPU for machine clients
+    private static ObjectMapper createObjectMapper(JsonFactory factory) {
+        JavaTimeModule module = new JavaTimeModule();
+        module.addSerializer(LocalDate.class, new LocalDateSerializer(DATE_FORMATTER));
+        ObjectMapper objectMapper = new ObjectMapper(factory);
+        objectMapper.registerModule(module);
+        objectMapper.disable(SerializationFeature.INDENT_OUTPUT);
+        return objectMapper;
+    }
+}
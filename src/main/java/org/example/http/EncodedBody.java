@@ -0,0 +1,76 @@
+package org.example.http;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+
+/**
+ * A response body serialized once and shared by every response that sends it. Compressed forms are kept next to
+ * the raw bytes, so a body that is sent many times is compressed at most once per encoding. A precompressed body
+ * never grows after it is built, so a cache can weigh it once; other encodings are then compressed per response.
+ */
+public final class EncodedBody {
+    private static final Logger logger = LoggerFactory.getLogger(EncodedBody.class);
+    private final byte[] raw;
+    private volatile byte[] gzip;
+    private volatile byte[] deflate;
+    private final boolean sealed;
+
+    public EncodedBody(byte[] raw) {
+        this(raw, false);
+    }
+
+    private EncodedBody(byte[] raw, boolean sealed) {
+        this.raw = raw;
+        this.sealed = sealed;
+    }
+
+    // For bodies that are kept around: gzip, which nearly every client accepts, is produced up front
+    public static EncodedBody precompressed(byte[] raw) {
+        EncodedBody body = new EncodedBody(raw, true);
+        if (ResponseCompression.worthCompressing(raw.length)) {
+            body.gzip = body.compress(ResponseCompression.GZIP);
+        }
+        return body;
+    }
+
+    public byte[] raw() {
+        return raw;
+    }
+
+    // Bytes held, including the compressed forms produced so far
+    public int size() {
+        byte[] gzipped = gzip;
+        byte[] deflated = deflate;
+        return raw.length + (gzipped == null ? 0 : gzipped.length) + (deflated == null ? 0 : deflated.length);
+    }
+
+    // Null if compression failed; two threads may both compress the first time, which is harmless
+    public byte[] encoded(String encoding) {
+        boolean isGzip = ResponseCompression.GZIP.equals(encoding);
+        byte[] encoded = isGzip ? gzip : deflate;
+        if (encoded != null) {
+            return encoded;
+        }
+        encoded = compress(encoding);
+        if (encoded == null || sealed) {
+            return encoded;
+        }
+        if (isGzip) {
+            gzip = encoded;
+        } else {
+            deflate = encoded;
+        }
+        return encoded;
+    }
+
+    private byte[] compress(String encoding) {
+        try {
+            return ResponseCompression.compress(raw, encoding);
+        } catch (IOException e) {
+            logger.warn("Compression failed, sending the body uncompressed", e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,420 @@
+package org.example.http;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.sun.net.httpserver.HttpExchange;
+import org.example.constants.WireFormat;
+import org.example.crud.BaseService;
+import org.example.crud.EntityPatch;
+import org.example.formatter.JsonFormatter;
+import org.example.mapper.json.JsonEntityMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+import static org.example.constants.Constants.DEFAULT_PAGE_SIZE;
+import static org.example.constants.Constants.MAX_PAGE_SIZE;
+import static org.example.http.HttpResponses.sendEncodedResponse;
+import static org.example.http.HttpResponses.sendNotModified;
+import static org.example.http.HttpResponses.sendResponse;
+
+/**
+ * Typed CRUD handlers for one {@link BaseService}. Each handler calls the service directly,
+ * so dispatching a request needs neither reflection nor casts of the service results.
+ * Entities are written as JSON, CBOR or Smile as negotiated by the Accept header, and request bodies
+ * are read in the format named by Content-Type.
+ */
+public class EntityRoutes<T> {
+    private static final Logger logger = LoggerFactory.getLogger(EntityRoutes.class);
+
+    private final BaseService<T> service;
+    private final JsonEntityMapper<T> mapper;
+    private final JsonFormatter jsonFormatter;
+    private final String serviceName;
+    private final int bulkChunkSize;
+    private final EntityTags entityTags;
+    private final SingleFlight<String, Optional<EncodedBody>> flights;
+    private final BooleanSupplier readsFromPrimary;
+    private final ResponseCache responseCache;
+
+    public EntityRoutes(BaseService<T> service, JsonFormatter jsonFormatter, int bulkChunkSize, EntityTags entityTags,
+                        SingleFlight<String, Optional<EncodedBody>> flights, BooleanSupplier readsFromPrimary,
+                        ResponseCache responseCache) {
+        this.service = service;
+        this.entityTags = entityTags;
+        this.flights = flights;
+        this.readsFromPrimary = readsFromPrimary;
+        this.responseCache = responseCache;
+        this.mapper = service.getJsonEntityMapper();
+        this.jsonFormatter = jsonFormatter;
+        this.serviceName = service.getClass().getSimpleName();
+        this.bulkChunkSize = bulkChunkSize;
+    }
+
+    public RouteTable buildRouteTable() {
+        return new RouteTable(service.getContextPath())
+                .collection("GET", negotiated(this::handleListAll))
+                .item("GET", negotiated(this::handleGetById))
+                .collection("POST", negotiated(this::handleCreate))
+                .collectionAction("POST", "_bulk", negotiated(this::handleBulkCreate))
+                .item("PUT", this::handleSetName)
+                .item("PATCH", this::handlePatch)
+                .collection("PATCH", negotiated(this::handlePatchAll))
+                .item("DELETE", this::handleDeleteById);
+    }
+
+    @FunctionalInterface
+    private interface NegotiatedHandler {
+        void handle(HttpExchange exchange, long id, WireFormat format) throws Exception;
+    }
+
+    // Resolves the response format once, before the handler touches the service
+    private static RouteHandler negotiated(NegotiatedHandler handler) {
+        return (exchange, id) -> {
+            WireFormat format = WireFormat.fromAccept(exchange.getRequestHeaders().getFirst("Accept"));
+            if (format == null) {
+                sendResponse(exchange, 406, "Acceptable formats: application/json, application/cbor, application/x-jackson-smile");
+                return;
+            }
+            exchange.getResponseHeaders().add("Vary", "Accept");
+            handler.handle(exchange, id, format);
+        };
+    }
+
+    // Anything that is not a supported binary type is read as JSON, as before
+    private static WireFormat requestFormat(HttpExchange exchange) {
+        WireFormat format = WireFormat.fromContentType(exchange.getRequestHeaders().getFirst("Content-Type"));
+        return format == null ? WireFormat.JSON : format;
+    }
+
+    private void handleListAll(HttpExchange exchange, long ignored, WireFormat format) throws IOException {
+        QueryParams query = QueryParams.parse(exchange.getRequestURI().getRawQuery());
+        if ("true".equalsIgnoreCase(query.get("export"))) {
+            handleExport(exchange, format);
+            return;
+        }
+        if (query.has("ids")) {
+            handleGetByIds(exchange, query.get("ids"), format);
+            return;
+        }
+        if (query.has("after") || query.has("limit")) {
+            handleListPage(exchange, query, format);
+            return;
+        }
+
+        String etag = entityTags.tag(service, format);
+        if (notModified(exchange, etag)) {
+            return;
+        }
+
+        logger.debug("Fetching all resources for service: {}", serviceName);
+        Optional<EncodedBody> result = readOnce(exchange, format, etag, true,
+                () -> service.listAll().map(entities -> jsonFormatter.objectToBytes(entities, format)));
+
+        if (result.isPresent()) {
+            setValidator(exchange, etag);
+            sendEncodedResponse(exchange, 200, result.get(), format);
+        } else {
+            logger.warn("No resources found for service: {}", serviceName);
+            sendResponse(exchange, 404, "No resources found");
+        }
+    }
+
+    private void handleListPage(HttpExchange exchange, QueryParams query, WireFormat format) {
+        long afterId;
+        int limit;
+        try {
+            afterId = query.getLong("after", 0L);
+            limit = (int) Math.min(query.getLong("limit", DEFAULT_PAGE_SIZE), MAX_PAGE_SIZE);
+        } catch (IllegalArgumentException e) {
+            sendResponse(exchange, 400, e.getMessage());
+            return;
+        }
+
+        String etag = entityTags.tag(service, format);
+        if (notModified(exchange, etag)) {
+            return;
+        }
+
+        logger.debug("Fetching page after ID {} with limit {} for service: {}", afterId, limit, serviceName);
+        readOnce(exchange, format, etag, true,
+                () -> service.listPage(afterId, limit).map(page -> jsonFormatter.objectToBytes(page, format))).ifPresentOrElse(
+                body -> {
+                    setValidator(exchange, etag);
+                    sendEncodedResponse(exchange, 200, body, format);
+                },
+                () -> sendResponse(exchange, 500, "Failed to fetch page"));
+    }
+
+    // GET ?ids=1,2,3 answers a whole fan-out with one query instead of one request per ID
+    private void handleGetByIds(HttpExchange exchange, String idList, WireFormat format) {
+        List<Long> ids = new ArrayList<>();
+        try {
+            for (String id : idList.split(",")) {
+                if (!id.isBlank()) {
+                    ids.add(Long.parseLong(id.trim()));
+                }
+            }
+        } catch (NumberFormatException e) {
+            sendResponse(exchange, 400, "ids must be a comma-separated list of numbers");
+            return;
+        }
+        if (ids.isEmpty() || ids.size() > MAX_PAGE_SIZE) {
+            sendResponse(exchange, 400, "ids must name between 1 and " + MAX_PAGE_SIZE + " IDs");
+            return;
+        }
+
+        String etag = entityTags.tag(service, format);
+        if (notModified(exchange, etag)) {
+            return;
+        }
+
+        logger.debug("Fetching {} resources by ID for service: {}", ids.size(), serviceName);
+        readOnce(exchange, format, etag, false,
+                () -> service.getByIds(ids).map(entities -> jsonFormatter.objectToBytes(entities, format))).ifPresentOrElse(
+                body -> {
+                    setValidator(exchange, etag);
+                    sendEncodedResponse(exchange, 200, body, format);
+                },
+                () -> sendResponse(exchange, 500, "Failed to fetch resources"));
+    }
+
+    // Streams every row as one array using chunked encoding, so memory use does not grow with the table
+    private void handleExport(HttpExchange exchange, WireFormat format) throws IOException {
+        logger.debug("Exporting all resources for service: {}", serviceName);
+        exchange.getResponseHeaders().set("Content-Type", format.getMediaType());
+        String encoding = ResponseCompression.startEncoding(exchange);
+        exchange.sendResponseHeaders(200, 0);
+
+        try (OutputStream out = ResponseCompression.wrap(exchange.getResponseBody(), encoding);
+             JsonGenerator generator = jsonFormatter.createGenerator(out, format)) {
+            generator.writeStartArray();
+            Optional<Long> exported = service.streamAll(generator::writeObject);
+            if (exported.isPresent()) {
+                // Leaving the array open on failure lets clients detect a truncated export
+                generator.writeEndArray();
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void handleGetById(HttpExchange exchange, long id, WireFormat format) {
+        String etag = entityTags.tag(service, format);
+        if (notModified(exchange, etag)) {
+            return;
+        }
+
+        logger.debug("Fetching resource by ID: {}", id);
+        Optional<EncodedBody> result = readOnce(exchange, format, etag, false,
+                () -> service.getById(id).map(entity -> jsonFormatter.objectToBytes(entity, mapper, format)));
+
+        if (result.isPresent()) {
+            logger.debug("getById method executed successfully");
+            setValidator(exchange, etag);
+            sendEncodedResponse(exchange, 200, result.get(), format);
+        } else {
+            logger.warn("getById method failed or entity not found");
+            sendResponse(exchange, 404, "Entity not found or operation failed");
+        }
+    }
+
+    /**
+     * Runs the read and serialization once for all identical requests in flight, and keeps cacheable
+     * (list) responses as encoded bytes. The key holds the ETag, so a request arriving after a write never
+     * joins or hits a read that started before it, and whether the caller reads from the primary, so a client
+     * inside its read-your-writes window never gets a replica's result.
+     */
+    private Optional<EncodedBody> readOnce(HttpExchange exchange, WireFormat format, String etag, boolean cacheable,
+                                           Supplier<Optional<byte[]>> read) {
+        String key = exchange.getRequestURI().getRawPath() + '?' + exchange.getRequestURI().getRawQuery()
+                + ' ' + format + ' ' + etag + (readsFromPrimary.getAsBoolean() ? "" : " replica");
+        if (!cacheable) {
+            return flights.execute(key, () -> read.get().map(EncodedBody::new));
+        }
+        EncodedBody cached = responseCache.get(key);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        return flights.execute(key, () -> read.get().map(bytes -> {
+            EncodedBody body = responseCache.prepare(bytes);
+            responseCache.put(key, body);
+            return body;
+        }));
+    }
+
+    // Answers 304 before anything is loaded or serialized when the client's copy is current
+    private boolean notModified(HttpExchange exchange, String etag) {
+        if (!EntityTags.matches(exchange.getRequestHeaders().getFirst("If-None-Match"), etag)) {
+            return false;
+        }
+        setValidator(exchange, etag);
+        sendNotModified(exchange);
+        return true;
+    }
+
+    private static void setValidator(HttpExchange exchange, String etag) {
+        exchange.getResponseHeaders().set("ETag", etag);
+        exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+    }
+
+    private void handleCreate(HttpExchange exchange, long ignored, WireFormat format) {
+        T requestBody = jsonFormatter.readObject(exchange, mapper, requestFormat(exchange));
+        if (logger.isDebugEnabled()) {
+            logger.debug("POST request received. Body: {}", jsonFormatter.objectToJson(requestBody));
+        }
+
+        Optional<T> result = service.create(requestBody);
+
+        if (result.isPresent()) {
+            T responseBody = result.get();
+            if (logger.isDebugEnabled()) {
+                logger.debug("Resource created: {}", jsonFormatter.objectToJson(responseBody));
+            }
+            sendEncodedResponse(exchange, 201, jsonFormatter.objectToBytes(responseBody, mapper, format), format);
+        } else {
+            logger.warn("Failed to create resource for service: {}", serviceName);
+            sendResponse(exchange, 400, "Failed to create resource");
+        }
+    }
+
+    // Accepts a JSON array or NDJSON (or a CBOR/Smile array); entities are read lazily and inserted in chunks
+    // inside one transaction
+    private void handleBulkCreate(HttpExchange exchange, long ignored, WireFormat format) throws IOException {
+        QueryParams query = QueryParams.parse(exchange.getRequestURI().getRawQuery());
+        int chunkSize;
+        try {
+            chunkSize = (int) Math.max(1, query.getLong("chunkSize", bulkChunkSize));
+        } catch (IllegalArgumentException e) {
+            sendResponse(exchange, 400, e.getMessage());
+            return;
+        }
+
+        WireFormat bodyFormat = requestFormat(exchange);
+        Iterator<T> entities = bodyFormat == WireFormat.JSON
+                ? mapper.fromJsonStream(exchange.getRequestBody())
+                : mapper.readStream(exchange.getRequestBody(), bodyFormat);
+        Optional<List<Long>> ids = service.createAll(entities, chunkSize);
+
+        if (ids.isPresent()) {
+            logger.info("Bulk insert created {} resources for service: {}", ids.get().size(), serviceName);
+            Map<String, Object> responseBody = new LinkedHashMap<>();
+            responseBody.put("created", ids.get().size());
+            responseBody.put("ids", ids.get());
+            sendEncodedResponse(exchange, 201, jsonFormatter.objectToBytes(responseBody, format), format);
+        } else {
+            logger.warn("Bulk insert failed for service: {}", serviceName);
+            sendResponse(exchange, 400, "Bulk insert failed, no resources were created");
+        }
+    }
+
+    private void handleSetName(HttpExchange exchange, long id) {
+        @SuppressWarnings("unchecked")
+        Map<String, String> requestBodyMap = jsonFormatter.readObject(exchange, Map.class, requestFormat(exchange));
+        String newName = requestBodyMap.get("name");
+
+        if (newName == null || newName.isEmpty()) {
+            logger.warn("PUT request missing 'name' field for ID: {}", id);
+            sendResponse(exchange, 400, "Name field is required");
+            return;
+        }
+
+        service.setName(id, newName).ifPresentOrElse(
+                affectedRows -> {
+                    logger.debug("Updated {} rows for ID: {}", affectedRows, id);
+                    sendResponse(exchange, 200, "Updated rows: " + affectedRows);
+                },
+                () -> {
+                    logger.warn("No rows updated for ID: {}", id);
+                    sendResponse(exchange, 404, "Entity not found or no rows updated");
+                }
+        );
+    }
+
+    // Changes only the fields present in the body, e.g. {"salary": 5000, "level": "SENIOR"}
+    private void handlePatch(HttpExchange exchange, long id) {
+        @SuppressWarnings("unchecked")
+        Map<String, Object> changes = jsonFormatter.readObject(exchange, Map.class, requestFormat(exchange));
+
+        Optional<Long> updated;
+        try {
+            updated = service.patch(id, changes);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid PATCH for ID {}: {}", id, e.getMessage());
+            sendResponse(exchange, 400, e.getMessage());
+            return;
+        }
+        updated.ifPresentOrElse(
+                affectedRows -> {
+                    logger.debug("Patched {} rows for ID: {}", affectedRows, id);
+                    sendResponse(exchange, 200, "Updated rows: " + affectedRows);
+                },
+                () -> {
+                    logger.warn("No rows patched for ID: {}", id);
+                    sendResponse(exchange, 404, "Entity not found or no rows updated");
+                }
+        );
+    }
+
+    // An array of partial updates, each carrying its "id"; all of them commit or none do
+    private void handlePatchAll(HttpExchange exchange, long ignored, WireFormat format) throws IOException {
+        List<?> body = jsonFormatter.readObject(exchange, List.class, requestFormat(exchange));
+        if (body == null || body.isEmpty() || body.size() > MAX_PAGE_SIZE) {
+            sendResponse(exchange, 400, "Expected an array of 1 to " + MAX_PAGE_SIZE + " patches");
+            return;
+        }
+
+        List<EntityPatch> patches = new ArrayList<>(body.size());
+        for (Object item : body) {
+            if (!(item instanceof Map<?, ?> fields) || !(fields.get("id") instanceof Number id)) {
+                sendResponse(exchange, 400, "Every patch must be an object with a numeric id");
+                return;
+            }
+            Map<String, Object> changes = new HashMap<>();
+            fields.forEach((field, value) -> changes.put(String.valueOf(field), value));
+            changes.remove("id");
+            patches.add(new EntityPatch(id.longValue(), changes));
+        }
+
+        Optional<Long> updated;
+        try {
+            updated = service.patchAll(patches);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid PATCH batch for service {}: {}", serviceName, e.getMessage());
+            sendResponse(exchange, 400, e.getMessage());
+            return;
+        }
+        if (updated.isPresent()) {
+            logger.debug("Patched {} rows for service: {}", updated.get(), serviceName);
+            Map<String, Object> responseBody = new LinkedHashMap<>();
+            responseBody.put("updated", updated.get());
+            sendEncodedResponse(exchange, 200, jsonFormatter.objectToBytes(responseBody, format), format);
+        } else {
+            logger.warn("PATCH batch failed for service: {}", serviceName);
+            sendResponse(exchange, 400, "Patch failed, no rows were updated");
+        }
+    }
+
+    private void handleDeleteById(HttpExchange exchange, long id) {
+        service.deleteById(id).ifPresentOrElse(
+                affectedRows -> {
+                    logger.debug("Deleted {} rows for ID: {}", affectedRows, id);
+                    sendResponse(exchange, 200, "Deleted rows: " + affectedRows);
+                },
+                () -> {
+                    logger.warn("No rows deleted for ID: {}", id);
+                    sendResponse(exchange, 404, "Entity not found or no rows deleted");
+                }
+        );
+    }
+}
@@ -0,0 +1,56 @@
+package org.example.http;
+
+import org.example.constants.WireFormat;
+import org.example.crud.BaseService;
+
+import java.time.Duration;
+
+/**
+ * Strong validators for entity responses, computed without loading or serializing anything. A tag combines
+ * the service's write version with a per-process epoch, so tags issued by another instance or an earlier run
+ * never match, and with a time bucket: the version only counts writes made through this instance, so tags
+ * also expire after the validity period to bound staleness when rows change elsewhere.
+ */
+public class EntityTags {
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final long validityMillis;
+
+    public EntityTags(Duration validity) {
+        this.validityMillis = Math.max(1, validity.toMillis());
+    }
+
+    public String tag(BaseService<?> service) {
+        long bucket = System.currentTimeMillis() / validityMillis;
+        return "\"" + epoch + "-" + Long.toString(service.getVersion(), 36) + "-" + Long.toString(bucket, 36) + "\"";
+    }
+
+    // Every representation needs its own strong tag
+    public String tag(BaseService<?> service, WireFormat format) {
+        String tag = tag(service);
+        return format == WireFormat.JSON
+                ? tag
+                : tag.substring(0, tag.length() - 1) + "-" + format.name().toLowerCase() + "\"";
+    }
+
+    // If-None-Match uses the weak comparison; tags of compressed responses carry the encoding as a suffix
+    public static boolean matches(String ifNoneMatch, String tag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.equals("*")) {
+                return true;
+            }
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            value = value.replace("-" + ResponseCompression.GZIP + "\"", "\"")
+                    .replace("-" + ResponseCompression.DEFLATE + "\"", "\"");
+            if (value.equals(tag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
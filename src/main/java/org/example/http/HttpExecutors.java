@@ -0,0 +1,67 @@
+package org.example.http;
+
+import org.example.constants.ExecutorMode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates the executor that runs HTTP exchanges for the configured {@link ExecutorMode}.
+ * <p>
+ * The JDK server cannot answer a request whose task was rejected by its executor, so the bounded pool runs
+ * rejected exchanges inline on the dispatcher thread with a flag set; {@link MyHttpServer} checks
+ * {@link #isRejected()} and replies 503 without touching the database.
+ */
+public final class HttpExecutors {
+    private static final Logger logger = LoggerFactory.getLogger(HttpExecutors.class);
+    private static final ThreadLocal<Boolean> REJECTED = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+    private HttpExecutors() {
+    }
+
+    public static ExecutorService create(ExecutorMode mode, int threads, int queueSize) {
+        return switch (mode) {
+            case CACHED -> Executors.newCachedThreadPool();
+            case VIRTUAL -> newVirtualThreadPerTaskExecutor();
+            case BOUNDED -> newBoundedExecutor(threads, queueSize);
+        };
+    }
+
+    public static boolean isRejected() {
+        return REJECTED.get();
+    }
+
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        // Looked up reflectively so the project still builds and runs on Java 17
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            logger.warn("Virtual threads require Java 21 or newer, falling back to a cached thread pool");
+            return Executors.newCachedThreadPool();
+        }
+    }
+
+    private static ExecutorService newBoundedExecutor(int threads, int queueSize) {
+        AtomicInteger threadCounter = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                threads, threads,
+                60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                task -> new Thread(task, "http-worker-" + threadCounter.incrementAndGet()),
+                (task, pool) -> runRejected(task));
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private static void runRejected(Runnable task) {
+        logger.warn("HTTP executor queue is full, rejecting request");
+        REJECTED.set(Boolean.TRUE);
+        try {
+            task.run();
+        } finally {
+            REJECTED.set(Boolean.FALSE);
+        }
+    }
+}
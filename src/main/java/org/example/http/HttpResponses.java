@@ -0,0 +1,91 @@
+package org.example.http;
+
+import com.sun.net.httpserver.HttpExchange;
+import org.example.constants.WireFormat;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+public final class HttpResponses {
+    private static final Logger logger = LoggerFactory.getLogger(HttpResponses.class);
+    private static final int RETRY_AFTER_SECONDS = 1;
+
+    private HttpResponses() {
+    }
+
+    public static void handleServerError(HttpExchange exchange, Exception e) {
+        logger.error("Internal server error", e);
+        sendResponse(exchange, 500, "Internal Server Error: " + e.getMessage());
+    }
+
+    public static void sendResponse(HttpExchange exchange, int statusCode, String response) {
+        sendResponse(exchange, statusCode, response.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static void sendResponse(HttpExchange exchange, int statusCode, byte[] body) {
+        try {
+            byte[] bytes = ResponseCompression.encode(exchange, body);
+            exchange.sendResponseHeaders(statusCode, bytes.length);
+            exchange.getResponseBody().write(bytes);
+            logger.debug("Response sent with status code: {}", statusCode);
+        } catch (IOException e) {
+            logger.error("Error sending response", e);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    public static void sendNotModified(HttpExchange exchange) {
+        try {
+            exchange.sendResponseHeaders(304, -1);
+            logger.debug("Response sent with status code: 304");
+        } catch (IOException e) {
+            logger.error("Error sending response", e);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    public static void sendServiceUnavailable(HttpExchange exchange) {
+        exchange.getResponseHeaders().set("Retry-After", String.valueOf(RETRY_AFTER_SECONDS));
+        sendResponse(exchange, 503, "Service Unavailable");
+    }
+
+    public static void sendJsonResponse(HttpExchange exchange, int statusCode, String jsonResponse) {
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        sendResponse(exchange, statusCode, jsonResponse);
+    }
+
+    public static void sendJsonResponse(HttpExchange exchange, int statusCode, byte[] jsonResponse) {
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        sendResponse(exchange, statusCode, jsonResponse);
+    }
+
+    public static void sendEncodedResponse(HttpExchange exchange, int statusCode, byte[] body, WireFormat format) {
+        exchange.getResponseHeaders().set("Content-Type", format.getMediaType());
+        sendResponse(exchange, statusCode, body);
+    }
+
+    // Sends a pre-serialized body, picking its raw or compressed form without encoding anything again
+    public static void sendEncodedResponse(HttpExchange exchange, int statusCode, EncodedBody body, WireFormat format) {
+        exchange.getResponseHeaders().set("Content-Type", format.getMediaType());
+        byte[] bytes = body.raw();
+        String encoding = ResponseCompression.chooseEncoding(exchange, bytes.length);
+        byte[] encoded = encoding == null ? null : body.encoded(encoding);
+        if (encoded != null) {
+            ResponseCompression.markEncoded(exchange, encoding);
+            bytes = encoded;
+        }
+        try {
+            exchange.sendResponseHeaders(statusCode, bytes.length);
+            exchange.getResponseBody().write(bytes);
+            logger.debug("Response sent with status code: {}", statusCode);
+        } catch (IOException e) {
+            logger.error("Error sending response", e);
+        } finally {
+            exchange.close();
+        }
+    }
+}
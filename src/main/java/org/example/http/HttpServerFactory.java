@@ -1,56 +1,153 @@
 package org.example.http;
 
-import com.sun.net.httpserver.HttpServer;
+import com.codahale.metrics.MetricRegistry;
+import org.example.config.ConfigLoader;
+import org.example.constants.ExecutorMode;
+import org.example.constants.ServerMode;
 import org.example.formatter.JsonFormatter;
 import org.example.crud.BaseService;
+import org.example.crud.ProjectPriceView;
+import org.example.crud.ReportService;
+import org.example.http.nio.NioWebServer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
-import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.function.BooleanSupplier;
 import java.util.stream.Collectors;
 
 public class HttpServerFactory {
     private static final Logger logger = LoggerFactory.getLogger(HttpServerFactory.class);
     private static final int DEFAULT_PORT = 9001;
+    private static final String METRICS_PATH = "/metrics";
+    private static final int DEFAULT_THREADS = 32;
+    private static final int DEFAULT_QUEUE_SIZE = 256;
+    private static final int DEFAULT_ACQUIRE_TIMEOUT_MS = 1000;
+    private static final int DEFAULT_BULK_CHUNK_SIZE = 1000;
+    private static final int DEFAULT_NIO_BUFFER_SIZE = 16 * 1024;
+    private static final int DEFAULT_NIO_IDLE_TIMEOUT_MS = 60_000;
+    private static final int DEFAULT_NIO_MAX_REQUEST_BYTES = 16 * 1024 * 1024;
+    private static final int DEFAULT_COMPRESSION_MIN_BYTES = 1024;
+    private static final int DEFAULT_ETAG_VALIDITY_SECONDS = 60;
+    private static final int DEFAULT_RESPONSE_CACHE_MAX_BYTES = 32 * 1024 * 1024;
 
     private final Map<String, BaseService<?>> serviceMap;
+    private final ReportService reportService;
+    private final ProjectPriceView projectPriceView;
     private final JsonFormatter jsonFormatter;
+    private final ExecutorMode executorMode;
+    private final int threads;
+    private final int queueSize;
+    private final RequestLimiter requestLimiter;
+    private final int bulkChunkSize;
+    private final MetricRegistry metricRegistry;
+    private final ServerMode serverMode;
+    private final NioWebServer.Settings nioSettings;
+    private final EntityTags entityTags;
+    private final boolean singleFlight;
+    private final long responseCacheMaxBytes;
+    private BooleanSupplier readsFromPrimary = () -> true;
+    private final List<RouteContributor> routeContributors = new ArrayList<>();
 
-    public HttpServerFactory(List<BaseService<?>> services, JsonFormatter jsonFormatter) {
+    public HttpServerFactory(List<BaseService<?>> services, ReportService reportService, ProjectPriceView projectPriceView,
+                             JsonFormatter jsonFormatter, ConfigLoader configLoader, MetricRegistry metricRegistry, int maxConcurrentRequests) {
         this.serviceMap = services.stream().collect(Collectors.toMap(BaseService::getContextPath, service -> service));
+        this.reportService = reportService;
+        this.projectPriceView = projectPriceView;
         this.jsonFormatter = jsonFormatter;
+        this.executorMode = ExecutorMode.fromString(configLoader.getProperty("http.executor.mode", "cached"));
+        this.threads = configLoader.getIntProperty("http.executor.threads", DEFAULT_THREADS);
+        this.queueSize = configLoader.getIntProperty("http.executor.queue.size", DEFAULT_QUEUE_SIZE);
+        this.requestLimiter = executorMode == ExecutorMode.CACHED
+                ? RequestLimiter.unlimited()
+                : new RequestLimiter(maxConcurrentRequests,
+                        configLoader.getIntProperty("http.concurrency.acquire.timeout.ms", DEFAULT_ACQUIRE_TIMEOUT_MS));
+        this.bulkChunkSize = configLoader.getIntProperty("bulk.chunk.size", DEFAULT_BULK_CHUNK_SIZE);
+        this.metricRegistry = metricRegistry;
+        this.serverMode = ServerMode.fromString(configLoader.getProperty("http.server.mode", "jdk"));
+        int ioThreads = configLoader.getIntProperty("http.nio.io.threads", 0);
+        this.nioSettings = new NioWebServer.Settings(
+                Math.max(1, configLoader.getIntProperty("http.nio.acceptor.threads", 1)),
+                ioThreads > 0 ? ioThreads : Runtime.getRuntime().availableProcessors(),
+                configLoader.getIntProperty("http.nio.buffer.size", DEFAULT_NIO_BUFFER_SIZE),
+                configLoader.getIntProperty("http.nio.idle.timeout.ms", DEFAULT_NIO_IDLE_TIMEOUT_MS),
+                configLoader.getIntProperty("http.nio.max.request.bytes", DEFAULT_NIO_MAX_REQUEST_BYTES));
+        ResponseCompression.configure(
+                configLoader.getIntProperty("http.compression.min.bytes", DEFAULT_COMPRESSION_MIN_BYTES));
+        this.singleFlight = Boolean.parseBoolean(configLoader.getProperty("http.singleflight.enabled", "true"));
+        this.responseCacheMaxBytes = configLoader.getIntProperty("http.response.cache.max.bytes", DEFAULT_RESPONSE_CACHE_MAX_BYTES);
+        this.entityTags = new EntityTags(Duration.ofSeconds(
+                configLoader.getIntProperty("http.etag.validity.seconds", DEFAULT_ETAG_VALIDITY_SECONDS)));
     }
 
-    public void startServer() {
+    // Must be called before startServer()
+    public void addRoutes(RouteContributor routeContributor) {
+        routeContributors.add(routeContributor);
+    }
+
+    // Must be called before startServer(); tells identical reads apart when some clients read from replicas
+    public void setReadsFromPrimary(BooleanSupplier readsFromPrimary) {
+        this.readsFromPrimary = readsFromPrimary;
+    }
+
+    public WebServer startServer() {
         try {
-            HttpServer server = HttpServer.create(new InetSocketAddress(DEFAULT_PORT), 0);
+            ExecutorService executorService = HttpExecutors.create(executorMode, threads, queueSize);
+            WebServer server = createServer(executorService);
             setupContexts(server);
-            ExecutorService executorService = Executors.newCachedThreadPool();
-            server.setExecutor(executorService);
             server.start();
-            logger.info("HTTP server started on port {}", DEFAULT_PORT);
+            logger.info("{} HTTP server started on port {} with {} executor", serverMode, DEFAULT_PORT, executorMode);
+            return server;
         } catch (IOException e) {
             logger.error("Failed to start HTTP server on port {}", DEFAULT_PORT, e);
             throw new IllegalStateException("Could not start HTTP server", e);
         }
     }
 
-    private void setupContexts(HttpServer server) {
+    private WebServer createServer(ExecutorService executorService) throws IOException {
+        return switch (serverMode) {
+            case JDK -> new JdkWebServer(DEFAULT_PORT, executorService);
+            case NIO -> new NioWebServer(DEFAULT_PORT, executorService, nioSettings);
+        };
+    }
+
+    private void setupContexts(WebServer server) {
         serviceMap.forEach((contextPath, service) -> {
-            server.createContext(contextPath, new MyHttpServer(serviceMap, jsonFormatter));
+            RouteTable routeTable = buildRouteTable(service);
+            routeContributors.forEach(contributor -> contributor.contribute(routeTable));
+            server.createContext(contextPath, new MyHttpServer(routeTable, requestLimiter, metricRegistry));
             logger.info("Context '{}' created for service '{}'", contextPath, service.getClass().getSimpleName());
         });
+        server.createContext(ReportService.CONTEXT_PATH, new MyHttpServer(
+                new ReportRoutes(reportService, projectPriceView, jsonFormatter).buildRouteTable(), requestLimiter, metricRegistry));
+        logger.info("Context '{}' created for reports", ReportService.CONTEXT_PATH);
+        server.createContext(METRICS_PATH, new MetricsHandler(metricRegistry));
+        logger.info("Context '{}' created for metrics", METRICS_PATH);
+    }
+
+    // Binds the typed service methods to their routes once, so requests are dispatched without reflection
+    private <T> RouteTable buildRouteTable(BaseService<T> service) {
+        SingleFlight<String, Optional<EncodedBody>> flights = singleFlight
+                ? new SingleFlight<>(service.getContextPath(), metricRegistry)
+                : SingleFlight.disabled();
+        ResponseCache responseCache = responseCacheMaxBytes > 0
+                ? new ResponseCache(service.getContextPath().substring(1), responseCacheMaxBytes, metricRegistry)
+                : ResponseCache.disabled();
+        service.addChangeListener(change -> responseCache.invalidateAll());
+        return new EntityRoutes<>(service, jsonFormatter, bulkChunkSize, entityTags, flights, readsFromPrimary,
+                responseCache).buildRouteTable();
     }
 
-    public void stopServer(HttpServer server) {
+    public void stopServer(WebServer server) {
         if (server != null) {
             server.stop(0);
             logger.info("HTTP server stopped");
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,42 @@
+package org.example.http;
+
+import com.codahale.metrics.MetricRegistry;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import org.example.metrics.PrometheusFormatter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+
+import static org.example.http.HttpResponses.handleServerError;
+import static org.example.http.HttpResponses.sendResponse;
+
+// Serves GET /metrics in the Prometheus text format
+public class MetricsHandler implements HttpHandler {
+    private static final Logger logger = LoggerFactory.getLogger(MetricsHandler.class);
+    private final MetricRegistry metricRegistry;
+
+    public MetricsHandler(MetricRegistry metricRegistry) {
+        this.metricRegistry = metricRegistry;
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) {
+        if (!"GET".equals(exchange.getRequestMethod())) {
+            sendResponse(exchange, 405, "Method Not Allowed");
+            return;
+        }
+        try {
+            StringWriter body = new StringWriter();
+            PrometheusFormatter.write(metricRegistry, body);
+            exchange.getResponseHeaders().set("Content-Type", PrometheusFormatter.CONTENT_TYPE);
+            sendResponse(exchange, 200, body.toString().getBytes(StandardCharsets.UTF_8));
+        } catch (IOException | RuntimeException e) {
+            logger.error("Failed to render metrics", e);
+            handleServerError(exchange, e);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package org.example.http;
+
+import com.sun.net.httpserver.HttpExchange;
+import org.example.crud.ProjectWorkerService;
+import org.example.formatter.JsonFormatter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.example.http.HttpResponses.sendJsonResponse;
+import static org.example.http.HttpResponses.sendResponse;
+
+/**
+ * Assignment routes: {@code GET|POST|DELETE /projects/{id}/workers} and {@code GET /workers/{id}/projects}.
+ * POST and DELETE take a JSON array of worker IDs and apply it as one batch.
+ */
+public class ProjectWorkerRoutes implements RouteContributor {
+    private static final Logger logger = LoggerFactory.getLogger(ProjectWorkerRoutes.class);
+
+    private final ProjectWorkerService projectWorkerService;
+    private final JsonFormatter jsonFormatter;
+
+    public ProjectWorkerRoutes(ProjectWorkerService projectWorkerService, JsonFormatter jsonFormatter) {
+        this.projectWorkerService = projectWorkerService;
+        this.jsonFormatter = jsonFormatter;
+    }
+
+    @Override
+    public void contribute(RouteTable routeTable) {
+        String contextPath = routeTable.getContextPath();
+        if (contextPath.equals(projectWorkerService.getProjectContextPath())) {
+            routeTable.itemAction("GET", "workers", this::handleListWorkers)
+                    .itemAction("POST", "workers", this::handleAssign)
+                    .itemAction("DELETE", "workers", this::handleUnassign);
+        } else if (contextPath.equals(projectWorkerService.getWorkerContextPath())) {
+            routeTable.itemAction("GET", "projects", this::handleListProjects);
+        }
+    }
+
+    private void handleListWorkers(HttpExchange exchange, long projectId) {
+        projectWorkerService.listWorkers(projectId).ifPresentOrElse(
+                workers -> sendJsonResponse(exchange, 200, jsonFormatter.objectToJsonBytes(workers)),
+                () -> sendResponse(exchange, 500, "Failed to fetch project workers"));
+    }
+
+    private void handleListProjects(HttpExchange exchange, long workerId) {
+        projectWorkerService.listProjects(workerId).ifPresentOrElse(
+                projects -> sendJsonResponse(exchange, 200, jsonFormatter.objectToJsonBytes(projects)),
+                () -> sendResponse(exchange, 500, "Failed to fetch worker projects"));
+    }
+
+    private void handleAssign(HttpExchange exchange, long projectId) {
+        List<Long> workerIds = readWorkerIds(exchange);
+        if (workerIds == null) {
+            return;
+        }
+        sendLinkResult(exchange, "assigned", projectWorkerService.assign(projectId, workerIds));
+    }
+
+    private void handleUnassign(HttpExchange exchange, long projectId) {
+        List<Long> workerIds = readWorkerIds(exchange);
+        if (workerIds == null) {
+            return;
+        }
+        sendLinkResult(exchange, "unassigned", projectWorkerService.unassign(projectId, workerIds));
+    }
+
+    // Sends 400 and returns null when the body is not an array of IDs
+    private List<Long> readWorkerIds(HttpExchange exchange) {
+        try {
+            return List.of(jsonFormatter.jsonToObject(exchange, Long[].class));
+        } catch (RuntimeException e) {
+            logger.warn("Invalid worker ID list: {}", e.getMessage());
+            sendResponse(exchange, 400, "Request body must be a JSON array of worker IDs");
+            return null;
+        }
+    }
+
+    private void sendLinkResult(HttpExchange exchange, String key, Optional<List<Long>> changed) {
+        changed.ifPresentOrElse(
+                ids -> sendJsonResponse(exchange, 200, jsonFormatter.objectToJsonBytes(Map.of(key, ids))),
+                () -> sendResponse(exchange, 400, "Failed to update assignments, no changes were made"));
+    }
+}
@@ -0,0 +1,67 @@
+package org.example.http;
+
+import com.sun.net.httpserver.HttpExchange;
+import org.example.constants.Report;
+import org.example.crud.ProjectPriceView;
+import org.example.crud.ReportService;
+import org.example.formatter.JsonFormatter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.example.http.HttpResponses.sendJsonResponse;
+import static org.example.http.HttpResponses.sendResponse;
+
+/**
+ * GET /reports lists the available reports, GET /reports/<path> returns one of them.
+ * Project prices are read from the incrementally maintained {@link ProjectPriceView} and accept {@code ?limit=N}.
+ */
+public class ReportRoutes {
+    private final ReportService reportService;
+    private final ProjectPriceView projectPriceView;
+    private final JsonFormatter jsonFormatter;
+
+    public ReportRoutes(ReportService reportService, ProjectPriceView projectPriceView, JsonFormatter jsonFormatter) {
+        this.reportService = reportService;
+        this.projectPriceView = projectPriceView;
+        this.jsonFormatter = jsonFormatter;
+    }
+
+    public RouteTable buildRouteTable() {
+        RouteTable routeTable = new RouteTable(ReportService.CONTEXT_PATH)
+                .collection("GET", this::handleList);
+        for (Report report : Report.values()) {
+            RouteHandler handler = report == Report.PROJECT_PRICES
+                    ? this::handleProjectPrices
+                    : (exchange, id) -> handleReport(exchange, report);
+            routeTable.collectionAction("GET", report.getPath(), handler);
+        }
+        return routeTable;
+    }
+
+    private void handleList(HttpExchange exchange, long ignored) {
+        List<String> paths = new ArrayList<>();
+        for (Report report : Report.values()) {
+            paths.add(ReportService.CONTEXT_PATH + "/" + report.getPath());
+        }
+        sendJsonResponse(exchange, 200, jsonFormatter.objectToJsonBytes(paths));
+    }
+
+    private void handleProjectPrices(HttpExchange exchange, long ignored) {
+        int limit;
+        try {
+            limit = (int) Math.max(0, Math.min(QueryParams.parse(exchange.getRequestURI().getRawQuery())
+                    .getLong("limit", Integer.MAX_VALUE), Integer.MAX_VALUE));
+        } catch (IllegalArgumentException e) {
+            sendResponse(exchange, 400, e.getMessage());
+            return;
+        }
+        sendJsonResponse(exchange, 200, jsonFormatter.objectToJsonBytes(projectPriceView.top(limit)));
+    }
+
+    private void handleReport(HttpExchange exchange, Report report) {
+        reportService.getReport(report).ifPresentOrElse(
+                rows -> sendJsonResponse(exchange, 200, jsonFormatter.objectToJsonBytes(rows)),
+                () -> sendResponse(exchange, 500, "Failed to run report"));
+    }
+}
@@ -0,0 +1,35 @@
+package org.example.http;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps the number of requests served at once, normally to the size of the connection pool,
+ * so that excess requests wait here with a timeout instead of piling up on the pool.
+ */
+public class RequestLimiter {
+    private final Semaphore permits;
+    private final long acquireTimeoutMillis;
+
+    public RequestLimiter(int maxConcurrentRequests, long acquireTimeoutMillis) {
+        this.permits = new Semaphore(maxConcurrentRequests, true);
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+    }
+
+    public static RequestLimiter unlimited() {
+        return new RequestLimiter(Integer.MAX_VALUE, 0);
+    }
+
+    public boolean tryAcquire() {
+        try {
+            return permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    public void release() {
+        permits.release();
+    }
+}
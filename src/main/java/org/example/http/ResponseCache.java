@@ -0,0 +1,70 @@
+package org.example.http;
+
+import com.codahale.metrics.MetricRegistry;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.example.cache.CacheMetrics;
+
+/**
+ * List responses kept as ready-to-send bytes, raw and gzip, so a gzip or identity hit is written out without
+ * serializing or compressing anything; deflate is compressed per response and never held, so the weight taken
+ * at put() is what an entry keeps. Keys carry the ETag, so a write through the owning service makes every older entry
+ * unreachable; the service's change listener also drops them to free the memory right away.
+ * The cache is bounded by the bytes it holds rather than by entry count, since pages vary widely in size.
+ */
+public class ResponseCache {
+    private final Cache<String, EncodedBody> cache;
+    private final CacheMetrics metrics;
+
+    public ResponseCache(String name, long maxBytes, MetricRegistry metricRegistry) {
+        this.metrics = new CacheMetrics("responses." + name, metricRegistry);
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .<String, EncodedBody>weigher((key, body) -> key.length() + body.size())
+                .removalListener((key, body, cause) -> {
+                    if (cause.wasEvicted()) {
+                        metrics.recordEviction();
+                    }
+                })
+                .build();
+    }
+
+    private ResponseCache() {
+        this.cache = null;
+        this.metrics = null;
+    }
+
+    public static ResponseCache disabled() {
+        return new ResponseCache();
+    }
+
+    public EncodedBody get(String key) {
+        if (cache == null) {
+            return null;
+        }
+        EncodedBody body = cache.getIfPresent(key);
+        if (body == null) {
+            metrics.recordMiss();
+        } else {
+            metrics.recordHit();
+        }
+        return body;
+    }
+
+    // Bodies that will be cached are compressed up front, so hits never compress
+    public EncodedBody prepare(byte[] raw) {
+        return cache == null ? new EncodedBody(raw) : EncodedBody.precompressed(raw);
+    }
+
+    public void put(String key, EncodedBody body) {
+        if (cache != null) {
+            cache.put(key, body);
+        }
+    }
+
+    public void invalidateAll() {
+        if (cache != null) {
+            cache.invalidateAll();
+        }
+    }
+}
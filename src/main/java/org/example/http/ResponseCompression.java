@@ -0,0 +1,167 @@
+package org.example.http;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * gzip or deflate response bodies for clients that accept them. Bodies below the size threshold are sent as
+ * they are, since framing overhead and CPU cost outweigh the saving. Compression runs at the fastest level:
+ * JSON shrinks most of the way there, and the server spends its CPU on requests rather than a few extra bytes.
+ */
+public final class ResponseCompression {
+    private static final Logger logger = LoggerFactory.getLogger(ResponseCompression.class);
+    public static final String GZIP = "gzip";
+    public static final String DEFLATE = "deflate";
+    private static final int DEFAULT_MIN_BYTES = 1024;
+    private static volatile int minBytes = DEFAULT_MIN_BYTES;
+
+    private ResponseCompression() {
+    }
+
+    // A negative threshold disables compression
+    public static void configure(int minimumBytes) {
+        minBytes = minimumBytes;
+    }
+
+    // Compresses the body if it is large enough and the client accepts an encoding, setting the response headers
+    public static byte[] encode(HttpExchange exchange, byte[] body) {
+        String encoding = chooseEncoding(exchange, body.length);
+        if (encoding == null) {
+            return body;
+        }
+        try {
+            byte[] compressed = compress(body, encoding);
+            markEncoded(exchange.getResponseHeaders(), encoding);
+            return compressed;
+        } catch (IOException e) {
+            logger.warn("Compression failed, sending the body uncompressed", e);
+            return body;
+        }
+    }
+
+    // Encoding for a body of the given length, or null to send it as is; headers are left to the caller
+    public static String chooseEncoding(HttpExchange exchange, int length) {
+        if (!worthCompressing(length)) {
+            return null;
+        }
+        exchange.getResponseHeaders().add("Vary", "Accept-Encoding");
+        return negotiate(exchange.getRequestHeaders().getFirst("Accept-Encoding"));
+    }
+
+    public static boolean worthCompressing(int length) {
+        return minBytes >= 0 && length >= minBytes;
+    }
+
+    public static byte[] compress(byte[] body, String encoding) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(body.length / 4);
+        try (OutputStream out = wrap(compressed, encoding)) {
+            out.write(body);
+        }
+        return compressed.toByteArray();
+    }
+
+    public static void markEncoded(HttpExchange exchange, String encoding) {
+        markEncoded(exchange.getResponseHeaders(), encoding);
+    }
+
+    /**
+     * For bodies streamed with chunked encoding: picks the encoding and sets the headers. Call before
+     * sendResponseHeaders() and pass the result to {@link #wrap}.
+     */
+    public static String startEncoding(HttpExchange exchange) {
+        if (minBytes < 0) {
+            return null;
+        }
+        Headers headers = exchange.getResponseHeaders();
+        headers.add("Vary", "Accept-Encoding");
+        String encoding = negotiate(exchange.getRequestHeaders().getFirst("Accept-Encoding"));
+        if (encoding != null) {
+            markEncoded(headers, encoding);
+        }
+        return encoding;
+    }
+
+    public static OutputStream wrap(OutputStream out, String encoding) throws IOException {
+        if (GZIP.equals(encoding)) {
+            return new GZIPOutputStream(out, 8192) {
+                {
+                    def.setLevel(Deflater.BEST_SPEED);
+                }
+            };
+        }
+        if (DEFLATE.equals(encoding)) {
+            // A Deflater passed in is not ended by close(), so its native memory would wait for GC
+            return new DeflaterOutputStream(out, new Deflater(Deflater.BEST_SPEED), 8192) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        def.end();
+                    }
+                }
+            };
+        }
+        return out;
+    }
+
+    // gzip is preferred when both are acceptable; q=0 excludes an encoding, * stands for any
+    static String negotiate(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) {
+            return null;
+        }
+        boolean gzip = false;
+        boolean deflate = false;
+        boolean any = false;
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.trim().split(";");
+            String coding = tokens[0].trim().toLowerCase();
+            if (isRefused(tokens)) {
+                continue;
+            }
+            switch (coding) {
+                case GZIP, "x-gzip" -> gzip = true;
+                case DEFLATE -> deflate = true;
+                case "*" -> any = true;
+                default -> {
+                }
+            }
+        }
+        if (gzip || any) {
+            return GZIP;
+        }
+        return deflate ? DEFLATE : null;
+    }
+
+    private static boolean isRefused(String[] tokens) {
+        for (int i = 1; i < tokens.length; i++) {
+            String parameter = tokens[i].trim();
+            if (parameter.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2)) <= 0;
+                } catch (NumberFormatException e) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    // A strong validator has to differ between encodings of the same entity
+    private static void markEncoded(Headers headers, String encoding) {
+        headers.set("Content-Encoding", encoding);
+        String etag = headers.getFirst("ETag");
+        if (etag != null && etag.endsWith("\"")) {
+            headers.set("ETag", etag.substring(0, etag.length() - 1) + "-" + encoding + "\"");
+        }
+    }
+}
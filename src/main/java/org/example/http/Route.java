@@ -0,0 +1,8 @@
+package org.example.http;
+
+/**
+ * A handler together with the path template it is registered under, e.g. {@code /workers/{id}}.
+ * The template is a low-cardinality label for metrics and logs.
+ */
+public record Route(String template, RouteHandler handler) {
+}
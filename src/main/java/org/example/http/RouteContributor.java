@@ -0,0 +1,7 @@
+package org.example.http;
+
+// Adds routes to the route table of an existing context, e.g. nested resources such as /projects/{id}/workers
+@FunctionalInterface
+public interface RouteContributor {
+    void contribute(RouteTable routeTable);
+}
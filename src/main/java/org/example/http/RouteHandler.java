@@ -0,0 +1,8 @@
+package org.example.http;
+
+import com.sun.net.httpserver.HttpExchange;
+
+@FunctionalInterface
+public interface RouteHandler {
+    void handle(HttpExchange exchange, long id) throws Exception;
+}
@@ -0,0 +1,143 @@
+package org.example.http;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Routes of a single context (e.g. {@code /workers}), built once at startup.
+ * Supported path shapes are {@code /ctx}, {@code /ctx/{id}}, {@code /ctx/<action>} and {@code /ctx/{id}/<action>}.
+ * Resolution walks the path in place, so the request path is never split into segments.
+ */
+public class RouteTable {
+    public static final long NO_ID = -1L;
+    private static final int MAX_ID_DIGITS = 18;
+
+    private final String contextPath;
+    private final Map<String, MethodRoutes> routesByMethod = new HashMap<>();
+
+    public RouteTable(String contextPath) {
+        this.contextPath = contextPath;
+    }
+
+    public String getContextPath() {
+        return contextPath;
+    }
+
+    public RouteTable collection(String method, RouteHandler handler) {
+        routesFor(method).collection = new Route(contextPath, handler);
+        return this;
+    }
+
+    public RouteTable item(String method, RouteHandler handler) {
+        routesFor(method).item = new Route(contextPath + "/{id}", handler);
+        return this;
+    }
+
+    public RouteTable collectionAction(String method, String action, RouteHandler handler) {
+        routesFor(method).collectionActions.add(new ActionRoute(action, new Route(contextPath + "/" + action, handler)));
+        return this;
+    }
+
+    public RouteTable itemAction(String method, String action, RouteHandler handler) {
+        routesFor(method).itemActions.add(new ActionRoute(action, new Route(contextPath + "/{id}/" + action, handler)));
+        return this;
+    }
+
+    public boolean supports(String method) {
+        return routesByMethod.containsKey(method);
+    }
+
+    // Returns the handler bound to the method and path shape, or null if nothing matches
+    public RouteHandler resolve(String method, String path) {
+        Route route = resolveRoute(method, path);
+        return route == null ? null : route.handler();
+    }
+
+    // Same as resolve(), but keeps the template the handler was registered under
+    public Route resolveRoute(String method, String path) {
+        MethodRoutes routes = routesByMethod.get(method);
+        if (routes == null || !path.startsWith(contextPath)) {
+            return null;
+        }
+
+        int start = contextPath.length();
+        int end = trimTrailingSlash(path, start);
+        if (start >= end) {
+            return routes.collection;
+        }
+        if (path.charAt(start) != '/') {
+            return null;
+        }
+
+        int segmentStart = start + 1;
+        int segmentEnd = segmentEnd(path, segmentStart, end);
+        if (isId(path, segmentStart, segmentEnd)) {
+            return segmentEnd == end
+                    ? routes.item
+                    : findAction(routes.itemActions, path, segmentEnd + 1, end);
+        }
+        return segmentEnd == end ? findAction(routes.collectionActions, path, segmentStart, end) : null;
+    }
+
+    // Extracts the {id} segment of a path already matched by resolve(), or NO_ID for collection routes
+    public long idOf(String path) {
+        int segmentStart = contextPath.length() + 1;
+        int end = trimTrailingSlash(path, contextPath.length());
+        if (segmentStart >= end) {
+            return NO_ID;
+        }
+        int segmentEnd = segmentEnd(path, segmentStart, end);
+        return isId(path, segmentStart, segmentEnd)
+                ? Long.parseLong(path, segmentStart, segmentEnd, 10)
+                : NO_ID;
+    }
+
+    private MethodRoutes routesFor(String method) {
+        return routesByMethod.computeIfAbsent(method, m -> new MethodRoutes());
+    }
+
+    private static Route findAction(List<ActionRoute> actions, String path, int from, int to) {
+        int length = to - from;
+        for (ActionRoute action : actions) {
+            if (action.segment().length() == length && path.regionMatches(from, action.segment(), 0, length)) {
+                return action.route();
+            }
+        }
+        return null;
+    }
+
+    private static int trimTrailingSlash(String path, int start) {
+        int end = path.length();
+        return end > start && path.charAt(end - 1) == '/' ? end - 1 : end;
+    }
+
+    private static int segmentEnd(String path, int from, int end) {
+        int slash = path.indexOf('/', from);
+        return slash < 0 || slash > end ? end : slash;
+    }
+
+    private static boolean isId(String path, int from, int to) {
+        if (from >= to || to - from > MAX_ID_DIGITS) {
+            return false;
+        }
+        for (int i = from; i < to; i++) {
+            char c = path.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static class MethodRoutes {
+        private Route collection;
+        private Route item;
+        private final List<ActionRoute> collectionActions = new ArrayList<>();
+        private final List<ActionRoute> itemActions = new ArrayList<>();
+    }
+
+    private record ActionRoute(String segment, Route route) {
+    }
+}
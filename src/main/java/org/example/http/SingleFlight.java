@@ -0,0 +1,75 @@
+package org.example.http;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.MetricRegistry;
+import org.example.metrics.MetricNames;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Registry of reads in progress. A caller whose key is already in flight waits for that execution and gets
+ * its result instead of running the same query and serialization again, so a burst of identical requests
+ * costs one connection checkout. Nothing is kept once the execution completes: this is not a cache, and a
+ * request arriving after the flight landed starts a new one.
+ */
+public class SingleFlight<K, V> {
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter executions;
+    private final Counter collapsed;
+    private final boolean enabled;
+
+    public SingleFlight(String name, MetricRegistry metricRegistry) {
+        this(metricRegistry.counter(MetricNames.tagged("singleflight.executions", "name", name)),
+                metricRegistry.counter(MetricNames.tagged("singleflight.collapsed", "name", name)), true);
+    }
+
+    private SingleFlight(Counter executions, Counter collapsed, boolean enabled) {
+        this.executions = executions;
+        this.collapsed = collapsed;
+        this.enabled = enabled;
+    }
+
+    public static <K, V> SingleFlight<K, V> disabled() {
+        return new SingleFlight<>(new Counter(), new Counter(), false);
+    }
+
+    // Runtime failures of the shared execution are rethrown to every caller that joined it
+    public V execute(K key, Supplier<V> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            collapsed.inc();
+            return join(existing);
+        }
+
+        executions.inc();
+        try {
+            V value = loader.get();
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    private static <V> V join(CompletableFuture<V> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
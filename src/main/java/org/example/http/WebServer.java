@@ -0,0 +1,16 @@
+package org.example.http;
+
+import com.sun.net.httpserver.HttpHandler;
+
+/**
+ * The listening server behind {@link HttpServerFactory}. Handlers are registered per context path (the longest
+ * matching prefix wins) before the server is started, and always see a {@link com.sun.net.httpserver.HttpExchange},
+ * whichever implementation accepts the connections.
+ */
+public interface WebServer {
+    void createContext(String path, HttpHandler handler);
+
+    void start();
+
+    void stop(int delaySeconds);
+}
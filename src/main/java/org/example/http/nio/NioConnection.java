@@ -0,0 +1,319 @@
+package org.example.http.nio;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * One keep-alive client connection. Reading, parsing and socket writes happen on the owning {@link NioWorker}
+ * thread; the handler runs on an executor thread and hands response bytes over through {@link #send}.
+ * Requests are served one at a time: while a request is being handled the connection stops reading, and
+ * pipelined requests already buffered are parsed once the previous response has been written, so responses
+ * always go out in request order.
+ */
+class NioConnection {
+    private static final Logger logger = LoggerFactory.getLogger(NioConnection.class);
+    private static final byte[] CONTINUE = "HTTP/1.1 100 Continue\r\n\r\n".getBytes(StandardCharsets.ISO_8859_1);
+
+    private enum State { HEAD, BODY, PROCESSING, CLOSED }
+
+    private record Outgoing(ByteBuffer buffer, boolean pooled, int size) {
+    }
+
+    private final SocketChannel channel;
+    private final SelectionKey key;
+    private final NioWorker worker;
+    private final BufferPool bufferPool;
+    private final Consumer<NioHttpExchange> dispatcher;
+    private final long maxRequestBytes;
+    private final long writeHighWater;
+    private final InetSocketAddress remoteAddress;
+    private final InetSocketAddress localAddress;
+    private final ByteBuffer readBuffer;
+    private final Queue<Outgoing> out = new ConcurrentLinkedQueue<>();
+    private final AtomicLong pendingBytes = new AtomicLong();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final Object writeLock = new Object();
+    private volatile boolean closed;
+
+    // Owned by the worker thread
+    private State state = State.HEAD;
+    private RequestHead head;
+    private byte[] body;
+    private int bodyFilled;
+    private boolean responseComplete;
+    private boolean keepAliveAfterResponse;
+    private long lastActivityNanos = System.nanoTime();
+
+    NioConnection(SocketChannel channel, SelectionKey key, NioWorker worker, BufferPool bufferPool,
+                  Consumer<NioHttpExchange> dispatcher, long maxRequestBytes) throws IOException {
+        this.channel = channel;
+        this.key = key;
+        this.worker = worker;
+        this.bufferPool = bufferPool;
+        this.dispatcher = dispatcher;
+        this.maxRequestBytes = maxRequestBytes;
+        this.writeHighWater = 4L * bufferPool.bufferSize();
+        this.remoteAddress = (InetSocketAddress) channel.getRemoteAddress();
+        this.localAddress = (InetSocketAddress) channel.getLocalAddress();
+        this.readBuffer = bufferPool.acquire();
+    }
+
+    InetSocketAddress remoteAddress() {
+        return remoteAddress;
+    }
+
+    InetSocketAddress localAddress() {
+        return localAddress;
+    }
+
+    BufferPool bufferPool() {
+        return bufferPool;
+    }
+
+    // ---- Worker thread ----
+
+    void onReadable() {
+        int read;
+        try {
+            read = channel.read(readBuffer);
+        } catch (IOException e) {
+            logger.debug("Read failed from {}: {}", remoteAddress, e.getMessage());
+            close();
+            return;
+        }
+        if (read < 0) {
+            close();
+            return;
+        }
+        lastActivityNanos = System.nanoTime();
+        process();
+    }
+
+    void flush() {
+        flushScheduled.set(false);
+        if (state == State.CLOSED) {
+            return;
+        }
+        try {
+            Outgoing next;
+            while ((next = out.peek()) != null) {
+                channel.write(next.buffer());
+                if (next.buffer().hasRemaining()) {
+                    key.interestOps(key.interestOps() | SelectionKey.OP_WRITE);
+                    signalWriters();
+                    return;
+                }
+                out.poll();
+                if (next.pooled()) {
+                    bufferPool.release(next.buffer());
+                }
+                pendingBytes.addAndGet(-next.size());
+            }
+        } catch (IOException e) {
+            logger.debug("Write failed to {}: {}", remoteAddress, e.getMessage());
+            close();
+            return;
+        }
+        lastActivityNanos = System.nanoTime();
+        key.interestOps(key.interestOps() & ~SelectionKey.OP_WRITE);
+        signalWriters();
+        if (responseComplete) {
+            finishResponse();
+        }
+    }
+
+    boolean isIdle(long now, long idleTimeoutNanos) {
+        return state != State.PROCESSING && now - lastActivityNanos > idleTimeoutNanos;
+    }
+
+    void close() {
+        if (state == State.CLOSED) {
+            return;
+        }
+        state = State.CLOSED;
+        closed = true;
+        key.cancel();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            logger.debug("Failed to close connection to {}", remoteAddress, e);
+        }
+        bufferPool.release(readBuffer);
+        Outgoing next;
+        while ((next = out.poll()) != null) {
+            if (next.pooled()) {
+                bufferPool.release(next.buffer());
+            }
+        }
+        signalWriters();
+    }
+
+    private void process() {
+        while (state == State.HEAD || state == State.BODY) {
+            if (state == State.HEAD && !readHead()) {
+                return;
+            }
+            int available = Math.min(readBuffer.position(), body.length - bodyFilled);
+            readBuffer.get(0, body, bodyFilled, available);
+            bodyFilled += available;
+            consume(available);
+            if (bodyFilled < body.length) {
+                return;
+            }
+            dispatch();
+        }
+    }
+
+    // Returns false until the whole head has arrived
+    private boolean readHead() {
+        int end = RequestHead.endOfHead(readBuffer, readBuffer.position());
+        if (end < 0) {
+            if (!readBuffer.hasRemaining()) {
+                reject(431, "Request header fields too large");
+            }
+            return false;
+        }
+        try {
+            head = RequestHead.parse(readBuffer, end);
+        } catch (RequestHead.BadRequestException e) {
+            reject(e.status(), e.getMessage());
+            return false;
+        }
+        consume(end);
+        if (head.contentLength() > maxRequestBytes) {
+            reject(413, "Request body too large");
+            return false;
+        }
+        body = new byte[(int) head.contentLength()];
+        bodyFilled = 0;
+        state = State.BODY;
+        if (head.expectContinue() && body.length > readBuffer.position()) {
+            enqueue(ByteBuffer.wrap(CONTINUE), false);
+            flush();
+        }
+        return true;
+    }
+
+    private void dispatch() {
+        state = State.PROCESSING;
+        key.interestOps(key.interestOps() & ~SelectionKey.OP_READ);
+        NioHttpExchange exchange = new NioHttpExchange(this, head, body);
+        head = null;
+        body = null;
+        dispatcher.accept(exchange);
+    }
+
+    // Answers a request that never reaches a handler and closes the connection
+    private void reject(int status, String message) {
+        logger.debug("Rejecting request from {} with {}: {}", remoteAddress, status, message);
+        byte[] bytes = message.getBytes(StandardCharsets.UTF_8);
+        String response = "HTTP/1.1 " + status + " " + NioHttpExchange.reason(status) + "\r\n"
+                + "Content-Type: text/plain; charset=utf-8\r\nContent-Length: " + bytes.length
+                + "\r\nConnection: close\r\n\r\n";
+        state = State.PROCESSING;
+        key.interestOps(key.interestOps() & ~SelectionKey.OP_READ);
+        enqueue(ByteBuffer.wrap((response + message).getBytes(StandardCharsets.UTF_8)), false);
+        responseComplete = true;
+        keepAliveAfterResponse = false;
+        flush();
+    }
+
+    private void finishResponse() {
+        responseComplete = false;
+        if (!keepAliveAfterResponse) {
+            close();
+            return;
+        }
+        state = State.HEAD;
+        key.interestOps(SelectionKey.OP_READ);
+        // A pipelined request may already be waiting in the read buffer
+        process();
+    }
+
+    // Drops the first n bytes of the read buffer
+    private void consume(int n) {
+        if (n == 0) {
+            return;
+        }
+        readBuffer.flip();
+        readBuffer.position(n);
+        readBuffer.compact();
+    }
+
+    private void signalWriters() {
+        if (closed || pendingBytes.get() <= writeHighWater / 2) {
+            synchronized (writeLock) {
+                writeLock.notifyAll();
+            }
+        }
+    }
+
+    // ---- Handler threads ----
+
+    /**
+     * Queues bytes for the client. Handler threads block while more than a few buffers are waiting for a slow
+     * client, so a large response never sits in memory as a whole.
+     */
+    void send(ByteBuffer buffer, boolean pooled) throws IOException {
+        if (closed) {
+            if (pooled) {
+                bufferPool.release(buffer);
+            }
+            throw new IOException("Connection closed");
+        }
+        enqueue(buffer, pooled);
+        if (flushScheduled.compareAndSet(false, true)) {
+            worker.execute(this::flush);
+        }
+        if (pendingBytes.get() > writeHighWater && !worker.inWorkerThread()) {
+            awaitDrain();
+        }
+    }
+
+    // Called once per exchange when the response is complete; keepAlive false closes the connection afterwards
+    void complete(boolean keepAlive) {
+        worker.execute(() -> {
+            if (state == State.CLOSED) {
+                return;
+            }
+            responseComplete = true;
+            keepAliveAfterResponse = keepAlive;
+            flush();
+        });
+    }
+
+    private void enqueue(ByteBuffer buffer, boolean pooled) {
+        int size = buffer.remaining();
+        pendingBytes.addAndGet(size);
+        out.add(new Outgoing(buffer, pooled, size));
+    }
+
+    private void awaitDrain() throws IOException {
+        synchronized (writeLock) {
+            while (!closed && pendingBytes.get() > writeHighWater / 2) {
+                try {
+                    writeLock.wait(TimeUnit.SECONDS.toMillis(1));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Interrupted while writing the response", e);
+                }
+            }
+        }
+        if (closed) {
+            throw new IOException("Connection closed");
+        }
+    }
+}
@@ -0,0 +1,367 @@
+package org.example.http.nio;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpContext;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpPrincipal;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link HttpExchange} over an {@link NioConnection}, so the existing handlers run unchanged on the NIO server.
+ * The request body has been read in full before the handler is called. The response follows the JDK server's
+ * contract: a positive length is sent with Content-Length, 0 streams a chunked body and -1 sends no body.
+ * Headers and the first part of the body share one pooled buffer, so a small response is a single socket write.
+ */
+class NioHttpExchange extends HttpExchange {
+    private static volatile long dateSecond;
+    private static volatile String date;
+
+    private final NioConnection connection;
+    private final RequestHead head;
+    private final Headers responseHeaders = new Headers();
+    private final Map<String, Object> attributes = new HashMap<>();
+    private InputStream requestBody;
+    private OutputStream responseStream = new OutputStream() {
+        @Override
+        public void write(int b) throws IOException {
+            body().write(b);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            body().write(bytes, offset, length);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (responseBody != null) {
+                responseBody.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            NioHttpExchange.this.close();
+        }
+    };
+    private ResponseBody responseBody;
+    private int responseCode = -1;
+    private boolean closed;
+
+    NioHttpExchange(NioConnection connection, RequestHead head, byte[] body) {
+        this.connection = connection;
+        this.head = head;
+        this.requestBody = new ByteArrayInputStream(body);
+    }
+
+    @Override
+    public Headers getRequestHeaders() {
+        return head.headers();
+    }
+
+    @Override
+    public Headers getResponseHeaders() {
+        return responseHeaders;
+    }
+
+    @Override
+    public URI getRequestURI() {
+        return head.uri();
+    }
+
+    @Override
+    public String getRequestMethod() {
+        return head.method();
+    }
+
+    @Override
+    public HttpContext getHttpContext() {
+        return null;
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (responseBody == null) {
+            // Nothing was sent, the client cannot tell where a response would start: drop the connection
+            connection.complete(false);
+            return;
+        }
+        try {
+            responseBody.close();
+        } catch (IOException e) {
+            connection.complete(false);
+        }
+    }
+
+    @Override
+    public InputStream getRequestBody() {
+        return requestBody;
+    }
+
+    @Override
+    public OutputStream getResponseBody() {
+        return responseStream;
+    }
+
+    @Override
+    public void sendResponseHeaders(int code, long length) throws IOException {
+        if (responseBody != null) {
+            throw new IOException("Response headers already sent");
+        }
+        responseCode = code;
+        boolean keepAlive = head.keepAlive();
+        boolean noBody = "HEAD".equals(head.method()) || code == 204 || code == 304 || code < 200;
+        boolean chunked = false;
+        long fixedLength;
+
+        if (noBody) {
+            fixedLength = 0;
+            if (length > 0) {
+                responseHeaders.set("Content-Length", Long.toString(length));
+            }
+        } else if (length > 0) {
+            fixedLength = length;
+            responseHeaders.set("Content-Length", Long.toString(length));
+        } else if (length == 0) {
+            fixedLength = -1;
+            if ("HTTP/1.1".equals(head.protocol())) {
+                chunked = true;
+                responseHeaders.set("Transfer-Encoding", "chunked");
+            } else {
+                // HTTP/1.0 has no chunked encoding, the end of the body is the end of the connection
+                keepAlive = false;
+            }
+        } else {
+            fixedLength = 0;
+            responseHeaders.set("Content-Length", "0");
+        }
+        if (!keepAlive) {
+            responseHeaders.set("Connection", "close");
+        }
+        if (!responseHeaders.containsKey("Date")) {
+            responseHeaders.set("Date", currentDate());
+        }
+
+        StringBuilder builder = new StringBuilder(256)
+                .append("HTTP/1.1 ").append(code).append(' ').append(reason(code)).append("\r\n");
+        for (Map.Entry<String, List<String>> header : responseHeaders.entrySet()) {
+            for (String value : header.getValue()) {
+                builder.append(header.getKey()).append(": ").append(value).append("\r\n");
+            }
+        }
+        builder.append("\r\n");
+        responseBody = new ResponseBody(connection, builder.toString().getBytes(StandardCharsets.ISO_8859_1),
+                chunked, fixedLength, noBody, keepAlive);
+    }
+
+    @Override
+    public InetSocketAddress getRemoteAddress() {
+        return connection.remoteAddress();
+    }
+
+    @Override
+    public int getResponseCode() {
+        return responseCode;
+    }
+
+    @Override
+    public InetSocketAddress getLocalAddress() {
+        return connection.localAddress();
+    }
+
+    @Override
+    public String getProtocol() {
+        return head.protocol();
+    }
+
+    @Override
+    public Object getAttribute(String name) {
+        return attributes.get(name);
+    }
+
+    @Override
+    public void setAttribute(String name, Object value) {
+        attributes.put(name, value);
+    }
+
+    @Override
+    public void setStreams(InputStream input, OutputStream output) {
+        if (input != null) {
+            requestBody = input;
+        }
+        if (output != null) {
+            responseStream = output;
+        }
+    }
+
+    @Override
+    public HttpPrincipal getPrincipal() {
+        return null;
+    }
+
+    private ResponseBody body() throws IOException {
+        if (responseBody == null) {
+            throw new IOException("sendResponseHeaders() must be called before writing the body");
+        }
+        return responseBody;
+    }
+
+    // Formatted at most once per second
+    private static String currentDate() {
+        long second = System.currentTimeMillis() / 1000;
+        String formatted = date;
+        if (second != dateSecond || formatted == null) {
+            formatted = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now(ZoneOffset.UTC));
+            date = formatted;
+            dateSecond = second;
+        }
+        return formatted;
+    }
+
+    static String reason(int code) {
+        return switch (code) {
+            case 100 -> "Continue";
+            case 200 -> "OK";
+            case 201 -> "Created";
+            case 204 -> "No Content";
+            case 304 -> "Not Modified";
+            case 400 -> "Bad Request";
+            case 404 -> "Not Found";
+            case 405 -> "Method Not Allowed";
+            case 409 -> "Conflict";
+            case 411 -> "Length Required";
+            case 413 -> "Payload Too Large";
+            case 415 -> "Unsupported Media Type";
+            case 431 -> "Request Header Fields Too Large";
+            case 500 -> "Internal Server Error";
+            case 503 -> "Service Unavailable";
+            default -> "";
+        };
+    }
+
+    /**
+     * Body bytes are collected in pooled direct buffers and handed to the connection as each one fills.
+     */
+    private static class ResponseBody extends OutputStream {
+        private static final byte[] CRLF = "\r\n".getBytes(StandardCharsets.ISO_8859_1);
+        private static final byte[] LAST_CHUNK = "0\r\n\r\n".getBytes(StandardCharsets.ISO_8859_1);
+
+        private final NioConnection connection;
+        private final BufferPool bufferPool;
+        private final boolean chunked;
+        private final boolean noBody;
+        private final boolean keepAlive;
+        private long remaining;
+        private ByteBuffer buffer;
+        private boolean closed;
+
+        private ResponseBody(NioConnection connection, byte[] headerBytes, boolean chunked, long fixedLength,
+                             boolean noBody, boolean keepAlive) throws IOException {
+            this.connection = connection;
+            this.bufferPool = connection.bufferPool();
+            this.chunked = chunked;
+            this.noBody = noBody;
+            this.keepAlive = keepAlive;
+            this.remaining = fixedLength;
+            if (chunked || headerBytes.length > bufferPool.bufferSize()) {
+                // Chunks are framed per buffer, so the headers go out on their own
+                connection.send(ByteBuffer.wrap(headerBytes), false);
+            } else {
+                buffer = bufferPool.acquire();
+                buffer.put(headerBytes);
+            }
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            if (closed) {
+                throw new IOException("Response body already closed");
+            }
+            if (noBody) {
+                return;
+            }
+            if (remaining >= 0) {
+                if (length > remaining) {
+                    throw new IOException("Response body exceeds the declared Content-Length");
+                }
+                remaining -= length;
+            }
+            while (length > 0) {
+                if (buffer == null) {
+                    buffer = bufferPool.acquire();
+                }
+                int n = Math.min(length, buffer.remaining());
+                buffer.put(bytes, offset, n);
+                offset += n;
+                length -= n;
+                if (!buffer.hasRemaining()) {
+                    emit();
+                }
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (buffer != null && buffer.position() > 0) {
+                emit();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                flush();
+                if (chunked) {
+                    connection.send(ByteBuffer.wrap(LAST_CHUNK), false);
+                }
+            } finally {
+                if (buffer != null) {
+                    bufferPool.release(buffer);
+                    buffer = null;
+                }
+            }
+            // A body shorter than its Content-Length leaves the client waiting, only a close ends it
+            connection.complete(keepAlive && remaining <= 0);
+        }
+
+        private void emit() throws IOException {
+            ByteBuffer full = buffer.flip();
+            buffer = null;
+            if (chunked) {
+                connection.send(ByteBuffer.wrap((Integer.toHexString(full.remaining()) + "\r\n")
+                        .getBytes(StandardCharsets.ISO_8859_1)), false);
+                connection.send(full, true);
+                connection.send(ByteBuffer.wrap(CRLF), false);
+            } else {
+                connection.send(full, true);
+            }
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package org.example.http.nio;
+
+import com.sun.net.httpserver.HttpHandler;
+import org.example.http.WebServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.example.http.HttpResponses.handleServerError;
+import static org.example.http.HttpResponses.sendResponse;
+
+/**
+ * HTTP/1.1 server on NIO selectors with persistent connections. Acceptor threads hand new connections to a
+ * fixed set of IO threads ({@link NioWorker}); a request is parsed into pooled direct buffers on its IO thread
+ * and then handled on the executor, so slow handlers never hold up other connections' IO.
+ */
+public class NioWebServer implements WebServer {
+    private static final Logger logger = LoggerFactory.getLogger(NioWebServer.class);
+    private static final int BACKLOG = 1024;
+    private static final int POOLED_BUFFERS_PER_WORKER = 256;
+
+    /**
+     * Thread counts, buffer size and limits of the NIO server.
+     */
+    public record Settings(int acceptorThreads, int ioThreads, int bufferSize, long idleTimeoutMillis, long maxRequestBytes) {
+    }
+
+    private record Context(String path, HttpHandler handler) {
+    }
+
+    private final int port;
+    private final ExecutorService executorService;
+    private final Settings settings;
+    private final List<Context> contexts = new CopyOnWriteArrayList<>();
+    private final List<NioWorker> workers = new ArrayList<>();
+    private final List<Thread> acceptors = new ArrayList<>();
+    private final AtomicInteger nextWorker = new AtomicInteger();
+    private ServerSocketChannel serverChannel;
+    private volatile boolean running;
+
+    public NioWebServer(int port, ExecutorService executorService, Settings settings) {
+        this.port = port;
+        this.executorService = executorService;
+        this.settings = settings;
+    }
+
+    // Longest context path first, so the most specific prefix wins as in the JDK server
+    @Override
+    public void createContext(String path, HttpHandler handler) {
+        contexts.add(new Context(path, handler));
+        contexts.sort(Comparator.comparingInt((Context context) -> context.path().length()).reversed());
+    }
+
+    @Override
+    public void start() {
+        BufferPool bufferPool = new BufferPool(settings.bufferSize(), POOLED_BUFFERS_PER_WORKER * settings.ioThreads());
+        try {
+            serverChannel = ServerSocketChannel.open();
+            serverChannel.setOption(StandardSocketOptions.SO_REUSEADDR, true);
+            serverChannel.bind(new InetSocketAddress(port), BACKLOG);
+            for (int i = 0; i < settings.ioThreads(); i++) {
+                workers.add(new NioWorker("http-io-" + (i + 1), bufferPool, this::dispatch,
+                        settings.idleTimeoutMillis(), settings.maxRequestBytes()));
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not start NIO server on port " + port, e);
+        }
+        running = true;
+        workers.forEach(NioWorker::start);
+        for (int i = 0; i < settings.acceptorThreads(); i++) {
+            Thread acceptor = new Thread(this::acceptLoop, "http-acceptor-" + (i + 1));
+            acceptors.add(acceptor);
+            acceptor.start();
+        }
+        logger.info("NIO server listening on port {} with {} IO threads", port, settings.ioThreads());
+    }
+
+    // The bound port, useful when started on port 0
+    public int getPort() {
+        return serverChannel.socket().getLocalPort();
+    }
+
+    @Override
+    public void stop(int delaySeconds) {
+        running = false;
+        try {
+            serverChannel.close();
+        } catch (IOException e) {
+            logger.warn("Failed to close server channel", e);
+        }
+        workers.forEach(NioWorker::shutdown);
+    }
+
+    private void acceptLoop() {
+        while (running) {
+            try {
+                SocketChannel channel = serverChannel.accept();
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                workers.get(Math.floorMod(nextWorker.getAndIncrement(), workers.size())).register(channel);
+            } catch (ClosedChannelException e) {
+                return;
+            } catch (IOException e) {
+                logger.warn("Failed to accept connection", e);
+            }
+        }
+    }
+
+    // Called on an IO thread once a request has been read in full
+    private void dispatch(NioHttpExchange exchange) {
+        try {
+            executorService.execute(() -> handle(exchange));
+        } catch (RejectedExecutionException e) {
+            logger.warn("Executor rejected request, closing connection");
+            exchange.close();
+        }
+    }
+
+    private void handle(NioHttpExchange exchange) {
+        String path = exchange.getRequestURI().getPath();
+        try {
+            HttpHandler handler = resolve(path);
+            if (handler == null) {
+                sendResponse(exchange, 404, "Not Found");
+            } else {
+                handler.handle(exchange);
+            }
+        } catch (Exception e) {
+            if (exchange.getResponseCode() == -1) {
+                handleServerError(exchange, e);
+            } else {
+                logger.error("Handler failed after the response was started", e);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private HttpHandler resolve(String path) {
+        if (path == null) {
+            return null;
+        }
+        for (Context context : contexts) {
+            if (path.startsWith(context.path())) {
+                return context.handler();
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,155 @@
+package org.example.http.nio;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * An IO thread with its own selector. Accepted connections are spread over the workers; each worker reads,
+ * parses and writes for its connections and never runs handler code. Other threads talk to it through
+ * {@link #execute}, which queues a task and wakes the selector.
+ */
+class NioWorker implements Runnable {
+    private static final Logger logger = LoggerFactory.getLogger(NioWorker.class);
+    private static final long SELECT_TIMEOUT_MS = 1_000;
+
+    private final Selector selector;
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final BufferPool bufferPool;
+    private final Consumer<NioHttpExchange> dispatcher;
+    private final long idleTimeoutNanos;
+    private final long maxRequestBytes;
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    NioWorker(String name, BufferPool bufferPool, Consumer<NioHttpExchange> dispatcher,
+              long idleTimeoutMillis, long maxRequestBytes) throws IOException {
+        this.selector = Selector.open();
+        this.bufferPool = bufferPool;
+        this.dispatcher = dispatcher;
+        this.idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeoutMillis);
+        this.maxRequestBytes = maxRequestBytes;
+        this.thread = new Thread(this, name);
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    void shutdown() {
+        running = false;
+        selector.wakeup();
+    }
+
+    boolean inWorkerThread() {
+        return Thread.currentThread() == thread;
+    }
+
+    void execute(Runnable task) {
+        tasks.add(task);
+        if (!inWorkerThread()) {
+            selector.wakeup();
+        }
+    }
+
+    void register(SocketChannel channel) {
+        execute(() -> {
+            try {
+                channel.configureBlocking(false);
+                SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+                key.attach(new NioConnection(channel, key, this, bufferPool, dispatcher, maxRequestBytes));
+            } catch (IOException e) {
+                logger.warn("Failed to register connection", e);
+                closeQuietly(channel);
+            }
+        });
+    }
+
+    @Override
+    public void run() {
+        long nextIdleCheck = System.nanoTime() + idleTimeoutNanos;
+        while (running) {
+            try {
+                selector.select(SELECT_TIMEOUT_MS);
+                runTasks();
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    handle(key);
+                }
+                long now = System.nanoTime();
+                if (now - nextIdleCheck >= 0) {
+                    closeIdle(now);
+                    nextIdleCheck = now + TimeUnit.MILLISECONDS.toNanos(SELECT_TIMEOUT_MS);
+                }
+            } catch (IOException e) {
+                logger.error("Selector failed", e);
+            } catch (RuntimeException e) {
+                logger.error("Unexpected error in IO thread", e);
+            }
+        }
+        for (SelectionKey key : selector.keys()) {
+            if (key.attachment() instanceof NioConnection connection) {
+                connection.close();
+            }
+        }
+        try {
+            selector.close();
+        } catch (IOException e) {
+            logger.warn("Failed to close selector", e);
+        }
+    }
+
+    private void handle(SelectionKey key) {
+        NioConnection connection = (NioConnection) key.attachment();
+        try {
+            if (key.isValid() && key.isWritable()) {
+                connection.flush();
+            }
+            if (key.isValid() && key.isReadable()) {
+                connection.onReadable();
+            }
+        } catch (CancelledKeyException e) {
+            connection.close();
+        }
+    }
+
+    private void runTasks() {
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            try {
+                task.run();
+            } catch (CancelledKeyException e) {
+                logger.debug("Task ran for a closed connection");
+            }
+        }
+    }
+
+    // Keep-alive connections with no request in flight are closed once they have been quiet for the idle timeout
+    private void closeIdle(long now) {
+        for (SelectionKey key : selector.keys()) {
+            if (key.attachment() instanceof NioConnection connection && connection.isIdle(now, idleTimeoutNanos)) {
+                connection.close();
+            }
+        }
+    }
+
+    private static void closeQuietly(SocketChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            logger.debug("Failed to close channel", e);
+        }
+    }
+}
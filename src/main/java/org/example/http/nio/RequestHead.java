@@ -0,0 +1,93 @@
+package org.example.http.nio;
+
+import com.sun.net.httpserver.Headers;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Request line and headers of one HTTP/1.x request.
+ */
+record RequestHead(String method, URI uri, String protocol, Headers headers, long contentLength,
+                   boolean keepAlive, boolean expectContinue) {
+
+    static final long NO_BODY = 0;
+
+    /**
+     * Thrown for a request that cannot be served; the connection is answered with the status and closed.
+     */
+    static class BadRequestException extends Exception {
+        private final int status;
+
+        BadRequestException(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+
+        int status() {
+            return status;
+        }
+    }
+
+    // Offset just past the blank line ending the head in buffer[0, limit), or -1 if it has not arrived yet
+    static int endOfHead(ByteBuffer buffer, int limit) {
+        for (int i = 3; i < limit; i++) {
+            if (buffer.get(i) == '\n' && buffer.get(i - 1) == '\r' && buffer.get(i - 2) == '\n' && buffer.get(i - 3) == '\r') {
+                return i + 1;
+            }
+        }
+        return -1;
+    }
+
+    static RequestHead parse(ByteBuffer buffer, int length) throws BadRequestException {
+        byte[] bytes = new byte[length];
+        buffer.get(0, bytes);
+        String[] lines = new String(bytes, StandardCharsets.ISO_8859_1).split("\r\n");
+
+        String[] requestLine = lines[0].split(" ");
+        if (requestLine.length != 3 || !requestLine[2].startsWith("HTTP/1.")) {
+            throw new BadRequestException(400, "Malformed request line");
+        }
+        URI uri;
+        try {
+            uri = new URI(requestLine[1]);
+        } catch (URISyntaxException e) {
+            throw new BadRequestException(400, "Malformed request target");
+        }
+
+        Headers headers = new Headers();
+        for (int i = 1; i < lines.length; i++) {
+            int colon = lines[i].indexOf(':');
+            if (colon <= 0) {
+                throw new BadRequestException(400, "Malformed header");
+            }
+            headers.add(lines[i].substring(0, colon).trim(), lines[i].substring(colon + 1).trim());
+        }
+
+        if (headers.containsKey("Transfer-Encoding")) {
+            throw new BadRequestException(411, "Chunked request bodies are not supported, send Content-Length");
+        }
+        long contentLength = NO_BODY;
+        String lengthHeader = headers.getFirst("Content-Length");
+        if (lengthHeader != null) {
+            try {
+                contentLength = Long.parseLong(lengthHeader);
+            } catch (NumberFormatException e) {
+                throw new BadRequestException(400, "Malformed Content-Length");
+            }
+            if (contentLength < 0) {
+                throw new BadRequestException(400, "Malformed Content-Length");
+            }
+        }
+
+        String protocol = requestLine[2];
+        String connection = headers.getFirst("Connection");
+        boolean keepAlive = "HTTP/1.1".equals(protocol)
+                ? !"close".equalsIgnoreCase(connection)
+                : "keep-alive".equalsIgnoreCase(connection);
+        boolean expectContinue = "100-continue".equalsIgnoreCase(headers.getFirst("Expect"));
+        return new RequestHead(requestLine[0], uri, protocol, headers, contentLength, keepAlive, expectContinue);
+    }
+}
@@ -9,6 +9,8 @@ import java.util.concurrent.TimeUnit;
 
 public class MetricsLogger {
     private static final Logger metricsLogger = LoggerFactory.getLogger("metrics");
+    // Live values are scraped from GET /metrics; the log only keeps a periodic record
+    private static final long REPORT_INTERVAL_SECONDS = 60;
 
     public static void startLogging(MetricRegistry metricRegistry) {
         Slf4jReporter reporter = Slf4jReporter.forRegistry(metricRegistry)
@@ -18,6 +20,6 @@ public class MetricsLogger {
                 .build();
 
         // Schedule the logging to occur
-        reporter.start(200, TimeUnit.MILLISECONDS);
+        reporter.start(REPORT_INTERVAL_SECONDS, TimeUnit.SECONDS);
     }
 }
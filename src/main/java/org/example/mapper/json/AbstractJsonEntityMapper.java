@@ -0,0 +1,100 @@
+package org.example.mapper.json;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.example.constants.WireFormat;
+import org.example.formatter.JsonMapperRegistry;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Map;
+
+public abstract class AbstractJsonEntityMapper<T> implements JsonEntityMapper<T> {
+    private final String typeName;
+    private final ObjectReader reader;
+    private final ObjectWriter writer;
+    private final Map<WireFormat, ObjectReader> readers = new EnumMap<>(WireFormat.class);
+    private final Map<WireFormat, ObjectWriter> writers = new EnumMap<>(WireFormat.class);
+
+    protected AbstractJsonEntityMapper(Class<T> type) {
+        this.typeName = type.getSimpleName();
+        this.reader = JsonMapperRegistry.readerFor(type);
+        this.writer = JsonMapperRegistry.writerFor(type);
+        for (WireFormat format : WireFormat.values()) {
+            readers.put(format, JsonMapperRegistry.readerFor(format, type));
+            writers.put(format, JsonMapperRegistry.writerFor(format, type));
+        }
+    }
+
+    @Override
+    public T fromJson(String json) {
+        try {
+            return reader.readValue(json);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to map JSON to " + typeName, e);
+        }
+    }
+
+    @Override
+    public T fromJson(InputStream json) {
+        try {
+            return reader.readValue(json);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to map JSON to " + typeName, e);
+        }
+    }
+
+    @Override
+    public String toJson(T entity) {
+        try {
+            return writer.writeValueAsString(entity);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to map " + typeName + " to JSON", e);
+        }
+    }
+
+    @Override
+    public byte[] toJsonBytes(T entity) {
+        try {
+            return writer.writeValueAsBytes(entity);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to map " + typeName + " to JSON", e);
+        }
+    }
+
+    @Override
+    public void toJson(T entity, OutputStream out) throws IOException {
+        writer.writeValue(out, entity);
+    }
+
+    @Override
+    public Iterator<T> fromJsonStream(InputStream json) throws IOException {
+        return reader.readValues(json);
+    }
+
+    @Override
+    public T read(InputStream in, WireFormat format) {
+        try {
+            return readers.get(format).readValue(in);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to map " + format + " to " + typeName, e);
+        }
+    }
+
+    @Override
+    public byte[] toBytes(T entity, WireFormat format) {
+        try {
+            return writers.get(format).writeValueAsBytes(entity);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to map " + typeName + " to " + format, e);
+        }
+    }
+
+    @Override
+    public Iterator<T> readStream(InputStream in, WireFormat format) throws IOException {
+        return readers.get(format).readValues(in);
+    }
+}
@@ -1,26 +1,10 @@
 package org.example.mapper.json;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.example.model.Client;
 
-public class ClientJsonMapper implements JsonEntityMapper<Client> {
-    private final ObjectMapper objectMapper = new ObjectMapper();
+public class ClientJsonMapper extends AbstractJsonEntityMapper<Client> {
 
-    @Override
-    public Client fromJson(String json) {
-        try {
-            return objectMapper.readValue(json, Client.class);
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to map JSON to Client", e);
-        }
+    public ClientJsonMapper() {
+        super(Client.class);
     }
-
-    @Override
-    public String toJson(Client client) {
-        try {
-            return objectMapper.writeValueAsString(client);
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to map Client to JSON", e);
-        }
-    }
-}
\ No newline at end of file
+}
@@ -1,6 +1,22 @@
 package org.example.mapper.json;
 
+import org.example.constants.WireFormat;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Iterator;
+
 public interface JsonEntityMapper<T> {
     T fromJson(String json);
+    T fromJson(InputStream json);
     String toJson(T entity);
-}
\ No newline at end of file
+    byte[] toJsonBytes(T entity);
+    void toJson(T entity, OutputStream out) throws IOException;
+    // Reads either a JSON array or newline-delimited JSON objects, one entity at a time
+    Iterator<T> fromJsonStream(InputStream json) throws IOException;
+    // The binary formats share the JSON data model, so the same mapping serves every WireFormat
+    T read(InputStream in, WireFormat format);
+    byte[] toBytes(T entity, WireFormat format);
+    Iterator<T> readStream(InputStream in, WireFormat format) throws IOException;
+}
@@ -0,0 +1,39 @@
+package org.example.metrics;
+
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registry whose timers and histograms are backed by {@link HdrHistogramReservoir}.
+ * This covers the application's own timers as well as the ones HikariCP registers.
+ */
+public class HdrMetricRegistry extends MetricRegistry {
+    private static final long DEFAULT_WINDOW_SECONDS = 60;
+
+    private final long windowSeconds;
+
+    public HdrMetricRegistry() {
+        this(DEFAULT_WINDOW_SECONDS);
+    }
+
+    public HdrMetricRegistry(long windowSeconds) {
+        this.windowSeconds = windowSeconds;
+    }
+
+    @Override
+    public Timer timer(String name) {
+        return timer(name, () -> new Timer(newReservoir()));
+    }
+
+    @Override
+    public Histogram histogram(String name) {
+        return histogram(name, () -> new Histogram(newReservoir()));
+    }
+
+    private HdrHistogramReservoir newReservoir() {
+        return new HdrHistogramReservoir(windowSeconds, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,39 @@
+package org.example.metrics;
+
+/**
+ * Builds metric names carrying labels, e.g. {@code http.server.requests{method="GET",status="200"}}.
+ * Dropwizard treats the whole string as the name; {@link PrometheusFormatter} turns the part in braces into labels.
+ */
+public final class MetricNames {
+
+    private MetricNames() {
+    }
+
+    public static String tagged(String name, String... labels) {
+        if (labels.length % 2 != 0) {
+            throw new IllegalArgumentException("Labels must be given as name/value pairs");
+        }
+        StringBuilder builder = new StringBuilder(name).append('{');
+        for (int i = 0; i < labels.length; i += 2) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.append(labels[i]).append("=\"");
+            appendEscaped(builder, labels[i + 1]);
+            builder.append('"');
+        }
+        return builder.append('}').toString();
+    }
+
+    private static void appendEscaped(StringBuilder builder, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> builder.append("\\\\");
+                case '"' -> builder.append("\\\"");
+                case '\n' -> builder.append("\\n");
+                default -> builder.append(c);
+            }
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package org.example.metrics;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Snapshot;
+import com.codahale.metrics.Timer;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
+
+/**
+ * Writes a {@link MetricRegistry} in the Prometheus text exposition format (version 0.0.4).
+ * Timers and histograms become summaries whose quantiles cover the reservoir window; timers are in seconds.
+ */
+public final class PrometheusFormatter {
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+    private static final double[] QUANTILES = {0.5, 0.75, 0.95, 0.99, 0.999};
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    private PrometheusFormatter() {
+    }
+
+    public static void write(MetricRegistry registry, Writer out) throws IOException {
+        FamilyWriter writer = new FamilyWriter(out);
+        for (Map.Entry<String, Gauge> entry : registry.getGauges().entrySet()) {
+            Object value = entry.getValue().getValue();
+            if (value instanceof Number number) {
+                writer.sample(entry.getKey(), "gauge", "", null, number.doubleValue());
+            } else if (value instanceof Boolean flag) {
+                writer.sample(entry.getKey(), "gauge", "", null, flag ? 1 : 0);
+            }
+        }
+        for (Map.Entry<String, Counter> entry : registry.getCounters().entrySet()) {
+            writer.sample(entry.getKey(), "counter", "", null, entry.getValue().getCount());
+        }
+        for (Map.Entry<String, Meter> entry : registry.getMeters().entrySet()) {
+            writer.sample(entry.getKey(), "counter", "_total", null, entry.getValue().getCount());
+        }
+        for (Map.Entry<String, Histogram> entry : registry.getHistograms().entrySet()) {
+            Histogram histogram = entry.getValue();
+            writer.summary(entry.getKey(), histogram.getSnapshot(), histogram.getCount(), 1.0);
+        }
+        for (Map.Entry<String, Timer> entry : registry.getTimers().entrySet()) {
+            Timer timer = entry.getValue();
+            writer.summary(entry.getKey(), timer.getSnapshot(), timer.getCount(), NANOS_PER_SECOND);
+        }
+        out.flush();
+    }
+
+    // Emits one TYPE line per metric family; registry maps are sorted, so labelled series of a family are adjacent
+    private static class FamilyWriter {
+        private final Writer out;
+        private String currentFamily;
+
+        private FamilyWriter(Writer out) {
+            this.out = out;
+        }
+
+        private void summary(String name, Snapshot snapshot, long count, double divisor) throws IOException {
+            for (double quantile : QUANTILES) {
+                sample(name, "summary", "", "quantile=\"" + quantile + "\"", snapshot.getValue(quantile) / divisor);
+            }
+            sample(name, "summary", "_count", null, count);
+        }
+
+        private void sample(String name, String type, String suffix, String extraLabel, double value) throws IOException {
+            int brace = name.indexOf('{');
+            String family = sanitize(brace < 0 ? name : name.substring(0, brace));
+            String labels = brace < 0 ? "" : name.substring(brace + 1, name.length() - 1);
+
+            if (!family.equals(currentFamily)) {
+                out.write("# TYPE " + family + " " + type + "\n");
+                currentFamily = family;
+            }
+
+            out.write(family);
+            out.write(suffix);
+            if (extraLabel != null && !labels.isEmpty()) {
+                labels = labels + "," + extraLabel;
+            } else if (extraLabel != null) {
+                labels = extraLabel;
+            }
+            if (!labels.isEmpty()) {
+                out.write('{');
+                out.write(labels);
+                out.write('}');
+            }
+            out.write(' ');
+            out.write(format(value));
+            out.write('\n');
+        }
+    }
+
+    static String sanitize(String name) {
+        StringBuilder builder = new StringBuilder(name.length() + 1);
+        if (!name.isEmpty() && Character.isDigit(name.charAt(0))) {
+            builder.append('_');
+        }
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            boolean valid = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_' || c == ':';
+            builder.append(valid ? c : '_');
+        }
+        return builder.toString();
+    }
+
+    private static String format(double value) {
+        if (Double.isNaN(value)) {
+            return "NaN";
+        }
+        if (Double.isInfinite(value)) {
+            return value > 0 ? "+Inf" : "-Inf";
+        }
+        return value == Math.rint(value) && Math.abs(value) < 1e15
+                ? Long.toString((long) value)
+                : Double.toString(value);
+    }
+}
@@ -1,6 +1,6 @@
 package org.example.model;
 
-public class Client {
+public class Client implements Identifiable {
     private long id;
     private String name;
 
@@ -15,6 +15,7 @@ public class Client {
         this.name = name;
     }
 
+    @Override
     public long getId() {
         return id;
     }
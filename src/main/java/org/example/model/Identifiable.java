@@ -0,0 +1,5 @@
+package org.example.model;
+
+public interface Identifiable {
+    long getId();
+}
@@ -0,0 +1,27 @@
+package org.example.model;
+
+import java.util.List;
+
+public class Page<T> {
+    private final List<T> items;
+    private final Long nextCursor;
+
+    public Page(List<T> items, Long nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    // ID to pass as 'after' for the next page, or null when this is the last page
+    public Long getNextCursor() {
+        return nextCursor;
+    }
+
+    @Override
+    public String toString() {
+        return "[items=" + items.size() + ", nextCursor=" + nextCursor + ']';
+    }
+}
@@ -2,7 +2,7 @@ package org.example.model;
 
 import java.time.LocalDate;
 
-public class Project {
+public class Project implements Identifiable {
     private long id;
     private String name;
     private long client_id;
@@ -27,6 +27,7 @@ public class Project {
         this.finish_date = finish_date;
     }
 
+    @Override
     public long getId() {return id;}
 
     public String getName() {
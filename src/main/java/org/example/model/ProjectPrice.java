@@ -0,0 +1,31 @@
+package org.example.model;
+
+// One row of the project prices report: total salary of the assigned workers times the project length in months
+public class ProjectPrice {
+    private final long project_id;
+    private final String project_name;
+    private final long project_price;
+
+    public ProjectPrice(long project_id, String project_name, long project_price) {
+        this.project_id = project_id;
+        this.project_name = project_name;
+        this.project_price = project_price;
+    }
+
+    public long getProject_id() {
+        return project_id;
+    }
+
+    public String getProject_name() {
+        return project_name;
+    }
+
+    public long getProject_price() {
+        return project_price;
+    }
+
+    @Override
+    public String toString() {
+        return "[project_id=" + project_id + ", project_name=" + project_name + ", project_price=" + project_price + ']';
+    }
+}
@@ -2,7 +2,7 @@ package org.example.model;
 
 import java.time.LocalDate;
 
-public class Worker {
+public class Worker implements Identifiable {
     private long id;
     private String name;
     private LocalDate dateOfBirth;
@@ -29,6 +29,7 @@ public class Worker {
         this.salary = salary;
     }
 
+    @Override
     public long getId() {
         return id;
     }
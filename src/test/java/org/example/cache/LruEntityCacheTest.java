@@ -0,0 +1,67 @@
+package org.example.cache;
+
+import com.codahale.metrics.MetricRegistry;
+import org.example.model.Client;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LruEntityCacheTest {
+
+    private MetricRegistry metricRegistry;
+    private LruEntityCache<Client> cache;
+
+    @BeforeEach
+    void setUp() {
+        metricRegistry = new MetricRegistry();
+        cache = new LruEntityCache<>(2, Duration.ofMinutes(1), new CacheMetrics("clients", metricRegistry));
+    }
+
+    @Test
+    void testHitAfterPut() {
+        cache.put(1L, new Client(1L, "Test Client"), cache.stamp());
+
+        assertTrue(cache.get(1L).isPresent());
+        assertEquals(1, metricRegistry.getCounters().get("cache.clients.hits").getCount());
+    }
+
+    @Test
+    void testMissIsCounted() {
+        assertTrue(cache.get(1L).isEmpty());
+        assertEquals(1, metricRegistry.getCounters().get("cache.clients.misses").getCount());
+    }
+
+    @Test
+    void testLeastRecentlyUsedEntryIsEvicted() {
+        cache.put(1L, new Client(1L, "First"), cache.stamp());
+        cache.put(2L, new Client(2L, "Second"), cache.stamp());
+        cache.get(1L);
+        cache.put(3L, new Client(3L, "Third"), cache.stamp());
+
+        assertTrue(cache.get(1L).isPresent());
+        assertTrue(cache.get(2L).isEmpty());
+        assertEquals(1, metricRegistry.getCounters().get("cache.clients.evictions").getCount());
+    }
+
+    @Test
+    void testPutIsSkippedAfterConcurrentInvalidation() {
+        long stamp = cache.stamp();
+        cache.invalidate(1L);
+        cache.put(1L, new Client(1L, "Stale"), stamp);
+
+        assertTrue(cache.get(1L).isEmpty());
+    }
+
+    @Test
+    void testExpiredEntryIsNotReturned() throws InterruptedException {
+        LruEntityCache<Client> shortLived = new LruEntityCache<>(2, Duration.ofMillis(1),
+                new CacheMetrics("short", metricRegistry));
+        shortLived.put(1L, new Client(1L, "Test Client"), shortLived.stamp());
+        Thread.sleep(5);
+
+        assertTrue(shortLived.get(1L).isEmpty());
+    }
+}
@@ -0,0 +1,26 @@
+package org.example.constants;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WireFormatTest {
+
+    @Test
+    void testFromAccept() {
+        assertEquals(WireFormat.JSON, WireFormat.fromAccept(null));
+        assertEquals(WireFormat.JSON, WireFormat.fromAccept("*/*"));
+        assertEquals(WireFormat.CBOR, WireFormat.fromAccept("application/cbor"));
+        assertEquals(WireFormat.SMILE, WireFormat.fromAccept("application/json;q=0.5, application/x-jackson-smile"));
+        assertEquals(WireFormat.JSON, WireFormat.fromAccept("application/cbor;q=0, application/json"));
+        assertNull(WireFormat.fromAccept("text/html"));
+    }
+
+    @Test
+    void testFromContentType() {
+        assertEquals(WireFormat.JSON, WireFormat.fromContentType(null));
+        assertEquals(WireFormat.JSON, WireFormat.fromContentType("application/json; charset=utf-8"));
+        assertEquals(WireFormat.CBOR, WireFormat.fromContentType("Application/CBOR"));
+        assertNull(WireFormat.fromContentType("application/x-ndjson"));
+    }
+}
@@ -0,0 +1,85 @@
+package org.example.crud;
+
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.UniformReservoir;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LookupCoalescerTest {
+
+    private final List<List<Long>> batches = new CopyOnWriteArrayList<>();
+
+    private Map<Long, String> load(List<Long> ids) {
+        batches.add(ids);
+        Map<Long, String> rows = new HashMap<>();
+        for (Long id : ids) {
+            if (id % 2 == 0) {
+                rows.put(id, "row-" + id);
+            }
+        }
+        return rows;
+    }
+
+    @Test
+    void testConcurrentLookupsShareOneBatch() throws Exception {
+        LookupCoalescer<String> coalescer = new LookupCoalescer<>(this::load,
+                TimeUnit.MILLISECONDS.toNanos(200), 8, new Histogram(new UniformReservoir()));
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Optional<String>>> results = new ArrayList<>();
+            for (long id = 1; id <= 8; id++) {
+                long lookup = id;
+                results.add(executor.submit(() -> coalescer.load(lookup)));
+            }
+            for (int i = 0; i < results.size(); i++) {
+                long id = i + 1;
+                assertEquals(id % 2 == 0 ? Optional.of("row-" + id) : Optional.empty(), results.get(i).get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, batches.size());
+        assertEquals(8, batches.get(0).size());
+    }
+
+    @Test
+    void testFailureReachesCaller() {
+        LookupCoalescer<String> coalescer = new LookupCoalescer<>(ids -> {
+            throw new SQLException("boom");
+        }, 0, 8, new Histogram(new UniformReservoir()));
+
+        assertThrows(SQLException.class, () -> coalescer.load(1));
+    }
+
+    @Test
+    void testErrorReachesEveryCallerOfTheBatch() throws Exception {
+        LookupCoalescer<String> coalescer = new LookupCoalescer<>(ids -> {
+            throw new OutOfMemoryError("boom");
+        }, TimeUnit.SECONDS.toNanos(5), 2, new Histogram(new UniformReservoir()));
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Optional<String>> first = executor.submit(() -> coalescer.load(1));
+            Future<Optional<String>> second = executor.submit(() -> coalescer.load(2));
+            for (Future<Optional<String>> result : List.of(first, second)) {
+                ExecutionException failure = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+                assertInstanceOf(OutOfMemoryError.class, failure.getCause());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
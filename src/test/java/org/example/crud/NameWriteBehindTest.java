@@ -0,0 +1,105 @@
+package org.example.crud;
+
+import com.codahale.metrics.MetricRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NameWriteBehindTest {
+
+    private final List<Map<Long, String>> batches = new CopyOnWriteArrayList<>();
+    private final CountDownLatch writeStarted = new CountDownLatch(1);
+    private volatile CountDownLatch writeGate;
+    private volatile boolean failing;
+    private final NameWriteBehind writeBehind = new NameWriteBehind("/clients", names -> {
+        if (failing) {
+            throw new SQLException("database is locked");
+        }
+        CountDownLatch gate = writeGate;
+        if (gate != null) {
+            writeStarted.countDown();
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                throw new SQLException(e);
+            }
+        }
+        batches.add(Map.copyOf(names));
+    }, 100, Duration.ofHours(1), new MetricRegistry());
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        failing = false;
+        writeGate = null;
+        writeBehind.close();
+    }
+
+    @Test
+    void testLastRenameWins() throws SQLException {
+        assertTrue(writeBehind.offer(1, "first"));
+        assertTrue(writeBehind.offer(1, "second"));
+        assertTrue(writeBehind.offer(2, "other"));
+        assertEquals("second", writeBehind.pendingName(1));
+
+        writeBehind.flush();
+
+        assertEquals(List.of(Map.of(1L, "second", 2L, "other")), batches);
+        assertTrue(writeBehind.isEmpty());
+    }
+
+    @Test
+    void testFailedBatchStaysBuffered() {
+        writeBehind.offer(1, "renamed");
+        failing = true;
+
+        assertThrows(SQLException.class, writeBehind::flush);
+        assertEquals("renamed", writeBehind.pendingName(1));
+    }
+
+    @Test
+    void testDiscardedAndClosed() throws SQLException {
+        writeBehind.offer(1, "deleted soon");
+        writeBehind.discard(1);
+        writeBehind.offer(2, "kept");
+
+        writeBehind.close();
+
+        assertEquals(List.of(Map.of(2L, "kept")), batches);
+        assertFalse(writeBehind.offer(3, "too late"));
+    }
+
+    @Test
+    void testDiscardWaitsForTheFlushWritingTheOldName() throws Exception {
+        writeBehind.offer(1, "old");
+        writeGate = new CountDownLatch(1);
+        Thread flusher = new Thread(() -> {
+            try {
+                writeBehind.flush();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        flusher.start();
+        assertTrue(writeStarted.await(5, TimeUnit.SECONDS));
+
+        Thread discarder = new Thread(() -> writeBehind.discard(1));
+        discarder.start();
+        discarder.join(200);
+        assertTrue(discarder.isAlive(), "discard returned while the old name was still being written");
+
+        writeGate.countDown();
+        discarder.join(5000);
+        flusher.join(5000);
+        assertFalse(discarder.isAlive());
+        assertEquals(List.of(Map.of(1L, "old")), batches);
+    }
+}
@@ -9,6 +9,7 @@ import javax.sql.DataSource;
 import java.lang.reflect.Field;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -65,4 +66,11 @@ class ConnectionManagerTest {
         assertEquals("Database connection is unavailable. Please contact support.", exception.getMessage());
     }
 
+    @Test
+    void testGetConnectionPoolExhausted() throws SQLException {
+        when(dataSource.getConnection()).thenThrow(new SQLTransientConnectionException("Connection is not available"));
+
+        assertThrows(PoolExhaustedException.class, () -> connectionManager.getConnection());
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,85 @@
+package org.example.db;
+
+import com.codahale.metrics.MetricRegistry;
+import com.zaxxer.hikari.pool.ProxyConnection;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class PreparedStatementCacheTest {
+
+    private static final String SQL = "SELECT id, name FROM client WHERE id = ?";
+    private PreparedStatementCache statementCache;
+    @Mock
+    private Connection mockConnection;
+    @Mock
+    private PreparedStatement mockPreparedStatement;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.initMocks(this);
+
+        when(mockConnection.prepareStatement(SQL)).thenReturn(mockPreparedStatement);
+
+        statementCache = PreparedStatementCache.getInstance(new MetricRegistry());
+    }
+
+    @Test
+    void testStatementReusedAfterClose() throws Exception {
+        PreparedStatement first = statementCache.prepare(mockConnection, SQL);
+        first.setLong(1, 1L);
+        first.close();
+        PreparedStatement second = statementCache.prepare(mockConnection, SQL);
+
+        assertSame(first, second);
+        verify(mockConnection, times(1)).prepareStatement(SQL);
+        verify(mockPreparedStatement).setLong(1, 1L);
+        verify(mockPreparedStatement).clearParameters();
+        verify(mockPreparedStatement, never()).close();
+        second.close();
+    }
+
+    @Test
+    void testStatementInUseIsNotSharedTwice() throws Exception {
+        PreparedStatement nested = mock(PreparedStatement.class);
+        when(mockConnection.prepareStatement(SQL)).thenReturn(mockPreparedStatement, nested);
+
+        try (PreparedStatement first = statementCache.prepare(mockConnection, SQL);
+             PreparedStatement second = statementCache.prepare(mockConnection, SQL)) {
+            assertNotSame(first, second);
+            assertSame(nested, second);
+        }
+    }
+
+    @Test
+    void testStatementClosedWithItsConnectionIsPreparedAgain() throws Exception {
+        PreparedStatement reopened = mock(PreparedStatement.class);
+        when(mockConnection.prepareStatement(SQL)).thenReturn(mockPreparedStatement, reopened);
+
+        statementCache.prepare(mockConnection, SQL).close();
+        when(mockPreparedStatement.isClosed()).thenReturn(true);
+        PreparedStatement statement = statementCache.prepare(mockConnection, SQL);
+        statement.setLong(1, 2L);
+
+        verify(reopened).setLong(1, 2L);
+        statement.close();
+    }
+
+    @Test
+    void testPooledConnectionIsNotCached() throws Exception {
+        // Hikari tracks and closes the statements of a lease, so they are prepared through it every time
+        Connection pooledConnection = mock(ProxyConnection.class);
+        when(pooledConnection.prepareStatement(SQL)).thenReturn(mockPreparedStatement);
+
+        assertSame(mockPreparedStatement, statementCache.prepare(pooledConnection, SQL));
+        assertSame(mockPreparedStatement, statementCache.prepare(pooledConnection, SQL));
+        verify(pooledConnection, times(2)).prepareStatement(SQL);
+    }
+}
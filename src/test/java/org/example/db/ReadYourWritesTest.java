@@ -0,0 +1,49 @@
+package org.example.db;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReadYourWritesTest {
+
+    @AfterEach
+    void tearDown() {
+        ReadYourWrites.clear();
+    }
+
+    @Test
+    void testClientIsStickyAfterItsOwnWrite() {
+        ReadYourWrites readYourWrites = new ReadYourWrites(Duration.ofMinutes(1));
+
+        ReadYourWrites.bind("10.0.0.1");
+        assertFalse(readYourWrites.isSticky());
+        readYourWrites.recordWrite();
+        assertTrue(readYourWrites.isSticky());
+
+        ReadYourWrites.bind("10.0.0.2");
+        assertFalse(readYourWrites.isSticky());
+    }
+
+    @Test
+    void testStickinessExpires() throws InterruptedException {
+        ReadYourWrites readYourWrites = new ReadYourWrites(Duration.ofMillis(1));
+
+        ReadYourWrites.bind("10.0.0.1");
+        readYourWrites.recordWrite();
+        Thread.sleep(10);
+
+        assertFalse(readYourWrites.isSticky());
+    }
+
+    @Test
+    void testUnboundThreadIsNeverSticky() {
+        ReadYourWrites readYourWrites = new ReadYourWrites(Duration.ofMinutes(1));
+
+        readYourWrites.recordWrite();
+
+        assertFalse(readYourWrites.isSticky());
+    }
+}
@@ -0,0 +1,51 @@
+package org.example.db;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.example.constants.ReplicaRouting;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ReplicaRouterTest {
+
+    @Test
+    void testRoundRobinVisitsReplicasInTurn() {
+        DataSource first = mock(DataSource.class);
+        DataSource second = mock(DataSource.class);
+        ReplicaRouter router = new ReplicaRouter(List.of(first, second), ReplicaRouting.ROUND_ROBIN);
+
+        assertSame(first, router.next());
+        assertSame(second, router.next());
+        assertSame(first, router.next());
+    }
+
+    @Test
+    void testLeastConnectionsPicksTheLeastBusyPool() {
+        HikariDataSource busy = poolWithActiveConnections(5);
+        HikariDataSource idle = poolWithActiveConnections(1);
+        ReplicaRouter router = new ReplicaRouter(List.of(busy, idle), ReplicaRouting.LEAST_CONNECTIONS);
+
+        assertSame(idle, router.next());
+        assertSame(idle, router.next());
+    }
+
+    @Test
+    void testRoutingParsesConfigValues() {
+        assertEquals(ReplicaRouting.ROUND_ROBIN, ReplicaRouting.fromString("round-robin"));
+        assertEquals(ReplicaRouting.LEAST_CONNECTIONS, ReplicaRouting.fromString("least_connections"));
+        assertThrows(IllegalArgumentException.class, () -> ReplicaRouting.fromString("random"));
+    }
+
+    private static HikariDataSource poolWithActiveConnections(int active) {
+        HikariPoolMXBean pool = mock(HikariPoolMXBean.class);
+        when(pool.getActiveConnections()).thenReturn(active);
+        HikariDataSource dataSource = mock(HikariDataSource.class);
+        when(dataSource.getHikariPoolMXBean()).thenReturn(pool);
+        return dataSource;
+    }
+}
@@ -0,0 +1,118 @@
+package org.example.db;
+
+import com.codahale.metrics.MetricRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SerialWriterTest {
+
+    private SerialWriter writer;
+    @Mock
+    private Connection mockConnection;
+    @Mock
+    private Savepoint mockSavepoint;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.initMocks(this);
+
+        when(mockConnection.setSavepoint()).thenReturn(mockSavepoint);
+
+        writer = new SerialWriter(() -> mockConnection, 16, 8, 1000, new MetricRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        writer.close();
+    }
+
+    @Test
+    void testExecuteReturnsResultAfterCommit() throws SQLException {
+        int result = writer.execute(connection -> 42);
+
+        assertEquals(42, result);
+        verify(mockConnection).setAutoCommit(false);
+        verify(mockConnection).releaseSavepoint(mockSavepoint);
+        verify(mockConnection).commit();
+    }
+
+    @Test
+    void testFailedWriteRollsBackToItsSavepointOnly() throws SQLException {
+        SQLException failure = new SQLException("constraint failed");
+
+        SQLException thrown = assertThrows(SQLException.class, () -> writer.execute(connection -> {
+            throw failure;
+        }));
+
+        assertSame(failure, thrown);
+        verify(mockConnection).rollback(mockSavepoint);
+        verify(mockConnection, never()).rollback();
+        // The rest of the group is still committed
+        verify(mockConnection).commit();
+    }
+
+    @Test
+    void testFailedCommitFailsTheWrite() throws SQLException {
+        doThrow(new SQLException("disk I/O error")).when(mockConnection).commit();
+
+        assertThrows(SQLException.class, () -> writer.execute(connection -> 1));
+        verify(mockConnection).rollback();
+    }
+
+    @Test
+    void testExecuteAfterCloseFails() {
+        writer.close();
+
+        assertThrows(SQLException.class, () -> writer.execute(connection -> 1));
+    }
+
+    @Test
+    void testWritesQueuedWhenTheWriterDiesFail() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CompletableFuture<Object> dying = CompletableFuture.supplyAsync(() -> {
+            try {
+                return writer.execute(connection -> {
+                    started.countDown();
+                    sleep(200);
+                    throw new StackOverflowError("writer thread dies");
+                });
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Integer> queued = CompletableFuture.supplyAsync(() -> {
+            try {
+                return writer.execute(connection -> 1);
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> queued.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(SQLException.class, failure.getCause().getCause());
+        assertThrows(ExecutionException.class, () -> dying.get(5, TimeUnit.SECONDS));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
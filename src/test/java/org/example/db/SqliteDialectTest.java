@@ -0,0 +1,72 @@
+package org.example.db;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SqliteDialectTest {
+    private SqliteDialect dialect;
+    private ResultSet resultSet;
+
+    @BeforeEach
+    void setUp() {
+        dialect = new SqliteDialect();
+        resultSet = mock(ResultSet.class);
+    }
+
+    @Test
+    void testGetDateFromIsoText() throws SQLException {
+        when(resultSet.getObject("birthday")).thenReturn("2001-08-20");
+
+        assertEquals(LocalDate.of(2001, 8, 20), dialect.getDate(resultSet, "birthday"));
+    }
+
+    @Test
+    void testGetDateFromEpochMillis() throws SQLException {
+        long millis = java.sql.Date.valueOf(LocalDate.of(2001, 8, 20)).getTime();
+        when(resultSet.getObject("birthday")).thenReturn(millis);
+
+        assertEquals(LocalDate.of(2001, 8, 20), dialect.getDate(resultSet, "birthday"));
+    }
+
+    @Test
+    void testGetDateNull() throws SQLException {
+        when(resultSet.getObject("finish_date")).thenReturn(null);
+
+        assertNull(dialect.getDate(resultSet, "finish_date"));
+    }
+
+    @Test
+    void testSetDateWritesIsoText() throws SQLException {
+        PreparedStatement statement = mock(PreparedStatement.class);
+
+        dialect.setDate(statement, 2, LocalDate.of(2023, 1, 1));
+        dialect.setDate(statement, 3, null);
+
+        verify(statement).setString(2, "2023-01-01");
+        verify(statement).setNull(3, Types.VARCHAR);
+        verifyNoMoreInteractions(statement);
+    }
+
+    @Test
+    void testIdsArePaddedToPowerOfTwo() throws SQLException {
+        PreparedStatement statement = mock(PreparedStatement.class);
+
+        assertEquals("id IN (?, ?, ?, ?)", dialect.idInPredicate("id", 3));
+        dialect.setIds(null, statement, 1, java.util.List.of(7L, 8L, 9L));
+
+        verify(statement).setLong(1, 7L);
+        verify(statement).setLong(2, 8L);
+        verify(statement, times(2)).setLong(anyInt(), eq(9L));
+        assertEquals(1, SqliteDialect.slotsFor(1));
+        assertEquals(1024, SqliteDialect.slotsFor(1000));
+    }
+}
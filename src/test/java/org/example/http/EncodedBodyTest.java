@@ -0,0 +1,55 @@
+package org.example.http;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EncodedBodyTest {
+
+    private static byte[] listJson() {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 1; i <= 200; i++) {
+            json.append(i > 1 ? "," : "").append("{\"id\":").append(i).append(",\"name\":\"Client ").append(i).append("\"}");
+        }
+        return json.append(']').toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void testPrecompressedBodyIsCompressedOnce() throws IOException {
+        byte[] raw = listJson();
+        EncodedBody body = EncodedBody.precompressed(raw);
+
+        byte[] gzip = body.encoded(ResponseCompression.GZIP);
+        assertSame(gzip, body.encoded(ResponseCompression.GZIP));
+        assertTrue(gzip.length < raw.length);
+        assertEquals(raw.length + gzip.length, body.size());
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzip))) {
+            assertArrayEquals(raw, in.readAllBytes());
+        }
+    }
+
+    @Test
+    void testPrecompressedBodyDoesNotKeepDeflate() {
+        byte[] raw = listJson();
+        EncodedBody body = EncodedBody.precompressed(raw);
+        int size = body.size();
+
+        byte[] deflate = body.encoded(ResponseCompression.DEFLATE);
+
+        assertNotNull(deflate);
+        assertNotSame(deflate, body.encoded(ResponseCompression.DEFLATE));
+        assertEquals(size, body.size());
+    }
+
+    @Test
+    void testSmallBodyIsNotPrecompressed() {
+        EncodedBody body = EncodedBody.precompressed("[]".getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(2, body.size());
+    }
+}
@@ -0,0 +1,49 @@
+package org.example.http;
+
+import org.example.crud.BaseService;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class EntityTagsTest {
+
+    private final EntityTags entityTags = new EntityTags(Duration.ofHours(1));
+
+    @Test
+    void testTagChangesWithVersion() {
+        BaseService<?> service = mock(BaseService.class);
+        when(service.getVersion()).thenReturn(3L);
+        String first = entityTags.tag(service);
+        assertEquals(first, entityTags.tag(service));
+
+        when(service.getVersion()).thenReturn(4L);
+        assertNotEquals(first, entityTags.tag(service));
+        assertTrue(first.startsWith("\"") && first.endsWith("\""));
+    }
+
+    @Test
+    void testMatches() {
+        String tag = "\"abc-1-2\"";
+        assertTrue(EntityTags.matches(tag, tag));
+        assertTrue(EntityTags.matches("W/" + tag, tag));
+        assertTrue(EntityTags.matches("\"other\", " + tag, tag));
+        assertTrue(EntityTags.matches("\"abc-1-2-gzip\"", tag));
+        assertTrue(EntityTags.matches("*", tag));
+        assertFalse(EntityTags.matches("\"abc-1-3\"", tag));
+        assertFalse(EntityTags.matches(null, tag));
+    }
+
+    @Test
+    void testNegotiateEncoding() {
+        assertEquals("gzip", ResponseCompression.negotiate("gzip, deflate, br"));
+        assertEquals("deflate", ResponseCompression.negotiate("deflate, gzip;q=0"));
+        assertEquals("gzip", ResponseCompression.negotiate("*"));
+        assertNull(ResponseCompression.negotiate("br"));
+        assertNull(ResponseCompression.negotiate("identity"));
+        assertNull(ResponseCompression.negotiate(null));
+    }
+}
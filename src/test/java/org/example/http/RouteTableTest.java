@@ -0,0 +1,69 @@
+package org.example.http;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RouteTableTest {
+
+    private final RouteHandler list = (exchange, id) -> {};
+    private final RouteHandler get = (exchange, id) -> {};
+    private final RouteHandler bulk = (exchange, id) -> {};
+    private final RouteHandler assigned = (exchange, id) -> {};
+    private RouteTable routeTable;
+
+    @BeforeEach
+    void setUp() {
+        routeTable = new RouteTable("/workers")
+                .collection("GET", list)
+                .item("GET", get)
+                .collectionAction("POST", "_bulk", bulk)
+                .itemAction("GET", "projects", assigned);
+    }
+
+    @Test
+    void testResolveCollection() {
+        assertSame(list, routeTable.resolve("GET", "/workers"));
+        assertSame(list, routeTable.resolve("GET", "/workers/"));
+        assertEquals(RouteTable.NO_ID, routeTable.idOf("/workers"));
+    }
+
+    @Test
+    void testResolveItem() {
+        assertSame(get, routeTable.resolve("GET", "/workers/42"));
+        assertEquals(42L, routeTable.idOf("/workers/42"));
+        assertEquals(42L, routeTable.idOf("/workers/42/"));
+    }
+
+    @Test
+    void testResolveActions() {
+        assertSame(bulk, routeTable.resolve("POST", "/workers/_bulk"));
+        assertSame(assigned, routeTable.resolve("GET", "/workers/7/projects"));
+        assertEquals(7L, routeTable.idOf("/workers/7/projects"));
+    }
+
+    @Test
+    void testResolveRouteTemplates() {
+        assertEquals("/workers", routeTable.resolveRoute("GET", "/workers/").template());
+        assertEquals("/workers/{id}", routeTable.resolveRoute("GET", "/workers/42").template());
+        assertEquals("/workers/_bulk", routeTable.resolveRoute("POST", "/workers/_bulk").template());
+        assertEquals("/workers/{id}/projects", routeTable.resolveRoute("GET", "/workers/7/projects").template());
+    }
+
+    @Test
+    void testResolveUnknownShapes() {
+        assertNull(routeTable.resolve("GET", "/workers/abc"));
+        assertNull(routeTable.resolve("GET", "/workersX"));
+        assertNull(routeTable.resolve("GET", "/workers/7/unknown"));
+        assertNull(routeTable.resolve("POST", "/workers"));
+        assertNull(routeTable.resolve("DELETE", "/workers/7"));
+    }
+
+    @Test
+    void testSupports() {
+        assertTrue(routeTable.supports("GET"));
+        assertTrue(routeTable.supports("POST"));
+        assertFalse(routeTable.supports("PATCH"));
+    }
+}
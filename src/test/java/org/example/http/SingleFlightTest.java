@@ -0,0 +1,77 @@
+package org.example.http;
+
+import com.codahale.metrics.MetricRegistry;
+import org.example.metrics.MetricNames;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    @Test
+    void testConcurrentCallersShareOneExecution() throws Exception {
+        MetricRegistry metricRegistry = new MetricRegistry();
+        SingleFlight<String, String> flights = new SingleFlight<>("/projects", metricRegistry);
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                results.add(executor.submit(() -> flights.execute("GET /projects/1", () -> {
+                    executions.incrementAndGet();
+                    await(release);
+                    return "body";
+                })));
+            }
+            // Let every caller reach the registry before the shared execution completes
+            Thread.sleep(200);
+            release.countDown();
+            for (Future<String> result : results) {
+                assertEquals("body", result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, executions.get());
+        assertEquals(1, metricRegistry.counter(MetricNames.tagged("singleflight.executions", "name", "/projects")).getCount());
+        assertEquals(3, metricRegistry.counter(MetricNames.tagged("singleflight.collapsed", "name", "/projects")).getCount());
+    }
+
+    @Test
+    void testNothingIsKeptAfterCompletion() {
+        SingleFlight<String, Integer> flights = new SingleFlight<>("/clients", new MetricRegistry());
+        AtomicInteger executions = new AtomicInteger();
+
+        flights.execute("key", executions::incrementAndGet);
+        flights.execute("key", executions::incrementAndGet);
+
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void testFailureIsRethrown() {
+        SingleFlight<String, String> flights = SingleFlight.disabled();
+
+        assertThrows(IllegalStateException.class, () -> flights.execute("key", () -> {
+            throw new IllegalStateException("boom");
+        }));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package org.example.http.nio;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.example.http.HttpResponses.sendResponse;
+import static org.junit.jupiter.api.Assertions.*;
+
+class NioWebServerTest {
+
+    private ExecutorService executorService;
+    private NioWebServer server;
+
+    @BeforeEach
+    void setUp() {
+        executorService = Executors.newCachedThreadPool();
+        // Small buffers so responses span several buffers and chunks
+        server = new NioWebServer(0, executorService, new NioWebServer.Settings(1, 2, 64, 60_000, 1024));
+        server.createContext("/echo", exchange -> {
+            String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            sendResponse(exchange, 200, exchange.getRequestURI().getPath() + ":" + body);
+        });
+        server.createContext("/stream", exchange -> {
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream body = exchange.getResponseBody()) {
+                for (int i = 0; i < 20; i++) {
+                    body.write(("line " + i + "\n").getBytes(StandardCharsets.UTF_8));
+                }
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        executorService.shutdownNow();
+    }
+
+    @Test
+    void testPipelinedRequestsAreAnsweredInOrderOnOneConnection() throws IOException {
+        String response = exchange("GET /echo/first HTTP/1.1\r\nHost: test\r\n\r\n"
+                + "POST /echo/second HTTP/1.1\r\nHost: test\r\nContent-Length: 5\r\n\r\nhello"
+                + "GET /echo/third HTTP/1.1\r\nHost: test\r\nConnection: close\r\n\r\n");
+
+        int first = response.indexOf("/echo/first:");
+        int second = response.indexOf("/echo/second:hello");
+        int third = response.indexOf("/echo/third:");
+        assertTrue(first > 0 && second > first && third > second, response);
+        assertTrue(response.endsWith("/echo/third:"), response);
+    }
+
+    @Test
+    void testStreamedResponseIsChunked() throws IOException {
+        String response = exchange("GET /stream HTTP/1.1\r\nHost: test\r\nConnection: close\r\n\r\n");
+
+        assertTrue(response.toLowerCase().contains("transfer-encoding: chunked"), response);
+        assertTrue(response.endsWith("\r\n0\r\n\r\n"), response);
+        String body = response.substring(response.indexOf("\r\n\r\n") + 4).replaceAll("\r\n[0-9a-f]+\r\n", "");
+        assertTrue(body.contains("line 0\n") && body.contains("line 19\n"), body);
+    }
+
+    @Test
+    void testUnknownContextAndOversizedBody() throws IOException {
+        assertTrue(exchange("GET /missing HTTP/1.1\r\nConnection: close\r\n\r\n").startsWith("HTTP/1.1 404"));
+        assertTrue(exchange("POST /echo HTTP/1.1\r\nContent-Length: 4096\r\n\r\n").startsWith("HTTP/1.1 413"));
+    }
+
+    private String exchange(String request) throws IOException {
+        try (Socket socket = new Socket("localhost", server.getPort())) {
+            socket.setSoTimeout(5_000);
+            socket.getOutputStream().write(request.getBytes(StandardCharsets.ISO_8859_1));
+            return new String(socket.getInputStream().readAllBytes(), StandardCharsets.ISO_8859_1);
+        }
+    }
+}
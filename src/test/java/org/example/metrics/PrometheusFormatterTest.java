@@ -0,0 +1,53 @@
+package org.example.metrics;
+
+import com.codahale.metrics.MetricRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrometheusFormatterTest {
+
+    private MetricRegistry metricRegistry;
+
+    @BeforeEach
+    void setUp() {
+        metricRegistry = new HdrMetricRegistry();
+    }
+
+    @Test
+    void testCounterIsWrittenWithSanitizedName() throws Exception {
+        metricRegistry.counter("cache.clients.hits").inc(3);
+
+        String output = render();
+
+        assertTrue(output.contains("# TYPE cache_clients_hits counter\n"));
+        assertTrue(output.contains("cache_clients_hits 3\n"));
+    }
+
+    @Test
+    void testTaggedTimerIsWrittenAsSummaryInSeconds() throws Exception {
+        String name = MetricNames.tagged("http.server.requests", "method", "GET", "route", "/workers/{id}", "status", "200");
+        metricRegistry.timer(name).update(2, TimeUnit.SECONDS);
+
+        String output = render();
+
+        assertTrue(output.contains("# TYPE http_server_requests summary\n"));
+        assertTrue(output.contains("http_server_requests{method=\"GET\",route=\"/workers/{id}\",status=\"200\",quantile=\"0.99\"} 2"));
+        assertTrue(output.contains("http_server_requests_count{method=\"GET\",route=\"/workers/{id}\",status=\"200\"} 1\n"));
+    }
+
+    @Test
+    void testLabelValuesAreEscaped() {
+        assertEquals("m{path=\"a\\\"b\"}", MetricNames.tagged("m", "path", "a\"b"));
+    }
+
+    private String render() throws Exception {
+        StringWriter out = new StringWriter();
+        PrometheusFormatter.write(metricRegistry, out);
+        return out.toString();
+    }
+}
@@ -4,7 +4,10 @@ import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.Timer;
 import org.example.crud.ClientService;
 import org.example.db.ConnectionManager;
+import org.example.db.PostgresDialect;
+import org.example.db.SqliteDialect;
 import org.example.model.Client;
+import org.example.model.Page;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
@@ -41,6 +44,8 @@ class ClientServiceTest {
         MockitoAnnotations.initMocks(this);
 
         when(mockConnectionManager.getConnection()).thenReturn(mockConnection);
+        when(mockConnectionManager.getReadConnection()).thenReturn(mockConnection);
+        when(mockConnectionManager.getDialect()).thenReturn(new PostgresDialect());
         when(mockMetricRegistry.timer(anyString())).thenReturn(mockTimer);
         when(mockTimer.time()).thenReturn(mockTimerContext);
 
@@ -216,4 +221,93 @@ class ClientServiceTest {
         verify(mockConnection).prepareStatement(anyString());
     }
 
+    // ---- Keyset paging Tests ----
+
+    @Test
+    void testListPageReturnsNextCursorWhenMoreRowsExist() throws SQLException {
+        when(mockConnection.prepareStatement(anyString())).thenReturn(mockPreparedStatement);
+        when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
+        when(mockResultSet.next()).thenReturn(true).thenReturn(true).thenReturn(false);
+        when(mockResultSet.getLong("id")).thenReturn(1L).thenReturn(2L);
+        when(mockResultSet.getString("name")).thenReturn("First").thenReturn("Second");
+
+        Optional<Page<Client>> page = clientService.listPage(0L, 1);
+
+        assertTrue(page.isPresent());
+        assertEquals(1, page.get().getItems().size());
+        assertEquals(1L, page.get().getNextCursor());
+        verify(mockPreparedStatement).setLong(1, 0L);
+        verify(mockPreparedStatement).setInt(2, 2);
+    }
+
+    @Test
+    void testListPageLastPageHasNoCursor() throws SQLException {
+        when(mockConnection.prepareStatement(anyString())).thenReturn(mockPreparedStatement);
+        when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
+        when(mockResultSet.next()).thenReturn(true).thenReturn(false);
+        when(mockResultSet.getLong("id")).thenReturn(5L);
+        when(mockResultSet.getString("name")).thenReturn("Last");
+
+        Optional<Page<Client>> page = clientService.listPage(4L, 10);
+
+        assertTrue(page.isPresent());
+        assertEquals(1, page.get().getItems().size());
+        assertNull(page.get().getNextCursor());
+    }
+
+    // ---- Bulk insert Tests ----
+
+    @Test
+    void testCreateAllExecutesBatchesPerChunkAndCommits() throws SQLException {
+        when(mockConnection.prepareStatement(anyString(), eq(Statement.RETURN_GENERATED_KEYS)))
+                .thenReturn(mockPreparedStatement);
+        when(mockPreparedStatement.getGeneratedKeys()).thenReturn(mockResultSet);
+        when(mockResultSet.next()).thenReturn(true, true, false, true, false);
+        when(mockResultSet.getLong(1)).thenReturn(1L, 2L, 3L);
+
+        List<Client> clients = List.of(new Client("First"), new Client("Second"), new Client("Third"));
+        Optional<List<Long>> ids = clientService.createAll(clients.iterator(), 2);
+
+        assertTrue(ids.isPresent());
+        assertEquals(List.of(1L, 2L, 3L), ids.get());
+        verify(mockPreparedStatement, times(3)).addBatch();
+        verify(mockPreparedStatement, times(2)).executeBatch();
+        verify(mockConnection).setAutoCommit(false);
+        verify(mockConnection).commit();
+    }
+
+    @Test
+    void testCreateAllInsertsRowByRowWhenDriverReportsOnlyTheLastKey() throws SQLException {
+        when(mockConnectionManager.getDialect()).thenReturn(new SqliteDialect());
+        ClientService sqliteClientService = new ClientService(mockConnectionManager, mockMetricRegistry);
+        when(mockConnection.prepareStatement(anyString(), eq(Statement.RETURN_GENERATED_KEYS)))
+                .thenReturn(mockPreparedStatement);
+        when(mockPreparedStatement.getGeneratedKeys()).thenReturn(mockResultSet);
+        when(mockResultSet.next()).thenReturn(true, false, true, false);
+        // Not consecutive: row IDs freed by a delete can be reused
+        when(mockResultSet.getLong(1)).thenReturn(7L, 3L);
+
+        List<Client> clients = List.of(new Client("First"), new Client("Second"));
+        Optional<List<Long>> ids = sqliteClientService.createAll(clients.iterator(), 10);
+
+        assertEquals(Optional.of(List.of(7L, 3L)), ids);
+        verify(mockPreparedStatement, times(2)).executeUpdate();
+        verify(mockPreparedStatement, never()).executeBatch();
+        verify(mockConnection).commit();
+    }
+
+    @Test
+    void testCreateAllRollsBackOnInvalidEntity() throws SQLException {
+        when(mockConnection.prepareStatement(anyString(), eq(Statement.RETURN_GENERATED_KEYS)))
+                .thenReturn(mockPreparedStatement);
+
+        List<Client> clients = List.of(new Client("Valid"), new Client(""));
+        Optional<List<Long>> ids = clientService.createAll(clients.iterator(), 10);
+
+        assertTrue(ids.isEmpty());
+        verify(mockConnection).rollback();
+        verify(mockConnection, never()).commit();
+        verify(mockPreparedStatement, never()).executeBatch();
+    }
+
 }
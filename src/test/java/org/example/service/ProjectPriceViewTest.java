@@ -0,0 +1,174 @@
+package org.example.service;
+
+import org.example.crud.BaseService;
+import org.example.crud.EntityChange;
+import org.example.crud.EntityChangeListener;
+import org.example.crud.EntityConsumer;
+import org.example.crud.ProjectPriceView;
+import org.example.db.ConnectionManager;
+import org.example.db.PostgresDialect;
+import org.example.model.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class ProjectPriceViewTest {
+
+    private ProjectPriceView view;
+    @Mock
+    private ConnectionManager mockConnectionManager;
+    @Mock
+    private BaseService<Worker> mockWorkerService;
+    @Mock
+    private BaseService<Project> mockProjectService;
+    @Mock
+    private BaseService<Client> mockClientService;
+    @Mock
+    private Connection mockConnection;
+    @Mock
+    private PreparedStatement mockPreparedStatement;
+    @Mock
+    private ResultSet mockResultSet;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws Exception {
+        MockitoAnnotations.initMocks(this);
+
+        when(mockConnectionManager.getConnection()).thenReturn(mockConnection);
+        when(mockConnectionManager.getDialect()).thenReturn(new PostgresDialect());
+        when(mockConnection.prepareStatement(anyString())).thenReturn(mockPreparedStatement);
+        when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
+        // One assignment in the database: Alice on project 1
+        when(mockResultSet.next()).thenReturn(true, false);
+        when(mockResultSet.getLong("project_id")).thenReturn(1L);
+        when(mockResultSet.getLong("worker_id")).thenReturn(10L);
+
+        when(mockWorkerService.streamAll(any(Connection.class), any())).thenAnswer(invocation -> {
+            EntityConsumer<Worker> consumer = invocation.getArgument(1);
+            consumer.accept(new Worker(10L, "Alice", LocalDate.of(2001, 8, 20), "alice@example.com", Level.SENIOR, 1000));
+            consumer.accept(new Worker(11L, "Bob", LocalDate.of(1995, 10, 11), "bob@example.com", Level.MIDDLE, 500));
+            return Optional.of(2L);
+        });
+        when(mockProjectService.streamAll(any(Connection.class), any())).thenAnswer(invocation -> {
+            EntityConsumer<Project> consumer = invocation.getArgument(1);
+            // 90 days = 3 months, 60 days = 2 months
+            consumer.accept(new Project(1L, "Alpha", 100L, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 3, 31)));
+            consumer.accept(new Project(2L, "Beta", 200L, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 3, 1)));
+            return Optional.of(2L);
+        });
+
+        view = new ProjectPriceView(mockConnectionManager, mockWorkerService, mockProjectService, mockClientService);
+        view.load();
+    }
+
+    @Test
+    void testLoadComputesPrices() {
+        List<ProjectPrice> prices = view.top(10);
+
+        assertEquals(2, prices.size());
+        assertEquals("Alpha", prices.get(0).getProject_name());
+        assertEquals(3000L, prices.get(0).getProject_price());
+        assertEquals(0L, prices.get(1).getProject_price());
+    }
+
+    @Test
+    void testAssignmentAndSalaryChangeReorderProjects() {
+        view.assign(2L, 10L);
+        view.assign(2L, 11L);
+        assertEquals(3000L, view.getPrice(2L).orElseThrow().getProject_price());
+
+        view.workerSalaryChanged(11L, 2000);
+        assertEquals("Beta", view.top(1).get(0).getProject_name());
+        assertEquals(6000L, view.top(1).get(0).getProject_price());
+
+        view.unassign(2L, 11L);
+        assertEquals(2000L, view.getPrice(2L).orElseThrow().getProject_price());
+    }
+
+    @Test
+    void testProjectDatesChangeReprices() {
+        view.projectChanged(1L, new Project(1L, "Alpha", 100L, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31)));
+
+        assertEquals(1000L, view.getPrice(1L).orElseThrow().getProject_price());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testDeletingClientRemovesItsProjects() {
+        ArgumentCaptor<EntityChangeListener<? super Client>> listener = ArgumentCaptor.forClass(EntityChangeListener.class);
+        verify(mockClientService).addChangeListener(listener.capture());
+
+        listener.getValue().onChange(new EntityChange<Client>("/clients", EntityChange.Type.DELETED, 100L, null));
+
+        assertTrue(view.getPrice(1L).isEmpty());
+        assertEquals(1, view.top(10).size());
+    }
+
+    @Test
+    void testLoadReadsOneSnapshotFromThePrimary() throws Exception {
+        verify(mockConnectionManager, never()).getReadConnection();
+        verify(mockConnection).setAutoCommit(false);
+        verify(mockConnection).setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+        verify(mockConnection).commit();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testStaleSalaryEventIsDropped() {
+        ArgumentCaptor<EntityChangeListener<? super Worker>> listener = ArgumentCaptor.forClass(EntityChangeListener.class);
+        verify(mockWorkerService).addChangeListener(listener.capture());
+
+        // The later patch is delivered first
+        listener.getValue().onChange(new EntityChange<>("/workers", EntityChange.Type.UPDATED, 10L,
+                new Worker(10L, "Alice", LocalDate.of(2001, 8, 20), "alice@example.com", Level.SENIOR, 3000), null, 2));
+        listener.getValue().onChange(new EntityChange<>("/workers", EntityChange.Type.UPDATED, 10L,
+                new Worker(10L, "Alice", LocalDate.of(2001, 8, 20), "alice@example.com", Level.SENIOR, 2000), null, 1));
+
+        assertEquals(9000L, view.getPrice(1L).orElseThrow().getProject_price());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testRenameAppliesTheNameWithoutReadingTheRow() {
+        ArgumentCaptor<EntityChangeListener<? super Project>> listener = ArgumentCaptor.forClass(EntityChangeListener.class);
+        verify(mockProjectService).addChangeListener(listener.capture());
+
+        listener.getValue().onChange(new EntityChange<Project>("/projects", EntityChange.Type.UPDATED, 1L, null, "Gamma", 3));
+        // A date patch read before the rename committed keeps the new name
+        listener.getValue().onChange(new EntityChange<>("/projects", EntityChange.Type.UPDATED, 1L,
+                new Project(1L, "Alpha", 100L, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31)), null, 2));
+
+        assertEquals("Gamma", view.getPrice(1L).orElseThrow().getProject_name());
+        assertEquals(1000L, view.getPrice(1L).orElseThrow().getProject_price());
+        verify(mockProjectService, never()).getById(anyLong());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testEventOlderThanADeleteDoesNotReviveTheProject() {
+        ArgumentCaptor<EntityChangeListener<? super Project>> listener = ArgumentCaptor.forClass(EntityChangeListener.class);
+        verify(mockProjectService).addChangeListener(listener.capture());
+
+        listener.getValue().onChange(new EntityChange<Project>("/projects", EntityChange.Type.DELETED, 2L, null, null, 5));
+        listener.getValue().onChange(new EntityChange<>("/projects", EntityChange.Type.UPDATED, 2L,
+                new Project(2L, "Beta", 200L, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 6, 1)), null, 4));
+
+        assertTrue(view.getPrice(2L).isEmpty());
+    }
+}
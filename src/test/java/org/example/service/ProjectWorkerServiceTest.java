@@ -0,0 +1,100 @@
+package org.example.service;
+
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import org.example.crud.EntityChange;
+import org.example.crud.ProjectService;
+import org.example.crud.ProjectWorkerService;
+import org.example.crud.WorkerService;
+import org.example.db.ConnectionManager;
+import org.example.db.PostgresDialect;
+import org.example.model.ProjectWorker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class ProjectWorkerServiceTest {
+
+    private ProjectWorkerService projectWorkerService;
+    private final List<EntityChange<? extends ProjectWorker>> changes = new ArrayList<>();
+    @Mock
+    private ConnectionManager mockConnectionManager;
+    @Mock
+    private MetricRegistry mockMetricRegistry;
+    @Mock
+    private Timer mockTimer;
+    @Mock
+    private Timer.Context mockTimerContext;
+    @Mock
+    private Connection mockConnection;
+    @Mock
+    private PreparedStatement mockPreparedStatement;
+    @Mock
+    private ResultSet mockResultSet;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.initMocks(this);
+
+        when(mockConnectionManager.getConnection()).thenReturn(mockConnection);
+        when(mockConnectionManager.getReadConnection()).thenReturn(mockConnection);
+        when(mockConnectionManager.getDialect()).thenReturn(new PostgresDialect());
+        when(mockMetricRegistry.timer(anyString())).thenReturn(mockTimer);
+        when(mockTimer.time()).thenReturn(mockTimerContext);
+        when(mockConnection.prepareStatement(anyString())).thenReturn(mockPreparedStatement);
+
+        projectWorkerService = new ProjectWorkerService(mockConnectionManager, mockMetricRegistry,
+                new WorkerService(mockConnectionManager, mockMetricRegistry),
+                new ProjectService(mockConnectionManager, mockMetricRegistry));
+        projectWorkerService.addChangeListener(changes::add);
+    }
+
+    @Test
+    void testAssignIsOneBatchAndSkipsExistingLinks() throws SQLException {
+        when(mockPreparedStatement.executeBatch()).thenReturn(new int[]{1, 0, 1});
+
+        Optional<List<Long>> assigned = projectWorkerService.assign(1L, List.of(10L, 11L, 12L));
+
+        assertEquals(Optional.of(List.of(10L, 12L)), assigned);
+        verify(mockPreparedStatement, times(3)).addBatch();
+        verify(mockPreparedStatement, times(1)).executeBatch();
+        verify(mockConnection).commit();
+        assertEquals(2, changes.size());
+        assertEquals(EntityChange.Type.CREATED, changes.get(0).type());
+    }
+
+    @Test
+    void testAssignSQLExceptionRollsBack() throws SQLException {
+        when(mockPreparedStatement.executeBatch()).thenThrow(new BatchUpdateException());
+
+        assertTrue(projectWorkerService.assign(1L, List.of(999L)).isEmpty());
+        verify(mockConnection).rollback();
+        assertTrue(changes.isEmpty());
+    }
+
+    @Test
+    void testListWorkersUsesSingleJoinQuery() throws SQLException {
+        when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
+        when(mockResultSet.next()).thenReturn(true, false);
+        when(mockResultSet.getLong("id")).thenReturn(10L);
+        when(mockResultSet.getString("name")).thenReturn("Alice");
+        when(mockResultSet.getString("level")).thenReturn("Senior");
+        when(mockResultSet.getInt("salary")).thenReturn(1000);
+
+        var workers = projectWorkerService.listWorkers(1L);
+
+        assertTrue(workers.isPresent());
+        assertEquals("Alice", workers.get().get(0).getName());
+        verify(mockConnection, times(1)).prepareStatement(anyString());
+    }
+}
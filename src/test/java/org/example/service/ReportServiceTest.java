@@ -0,0 +1,125 @@
+package org.example.service;
+
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import org.example.constants.Report;
+import org.example.crud.ReportService;
+import org.example.db.ConnectionManager;
+import org.example.db.SqlDialect;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.sql.*;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class ReportServiceTest {
+
+    private ReportService reportService;
+    @Mock
+    private ConnectionManager mockConnectionManager;
+    @Mock
+    private SqlDialect mockDialect;
+    @Mock
+    private MetricRegistry mockMetricRegistry;
+    @Mock
+    private Timer mockTimer;
+    @Mock
+    private Timer.Context mockTimerContext;
+    @Mock
+    private Connection mockConnection;
+    @Mock
+    private PreparedStatement mockPreparedStatement;
+    @Mock
+    private ResultSet mockResultSet;
+    @Mock
+    private ResultSetMetaData mockMetaData;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.initMocks(this);
+
+        when(mockConnectionManager.getConnection()).thenReturn(mockConnection);
+        when(mockConnectionManager.getReadConnection()).thenReturn(mockConnection);
+        when(mockConnectionManager.getDialect()).thenReturn(mockDialect);
+        when(mockConnectionManager.readsFromPrimary()).thenReturn(true);
+        when(mockDialect.getScript(anyString())).thenReturn("SELECT name, salary AS highest_salary FROM worker");
+        when(mockMetricRegistry.timer(anyString())).thenReturn(mockTimer);
+        when(mockTimer.time()).thenReturn(mockTimerContext);
+        when(mockConnection.prepareStatement(anyString())).thenReturn(mockPreparedStatement);
+        when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
+        when(mockResultSet.getMetaData()).thenReturn(mockMetaData);
+        when(mockMetaData.getColumnCount()).thenReturn(2);
+        when(mockMetaData.getColumnLabel(1)).thenReturn("name");
+        when(mockMetaData.getColumnLabel(2)).thenReturn("highest_salary");
+        when(mockMetaData.getColumnType(anyInt())).thenReturn(Types.VARCHAR);
+        when(mockResultSet.next()).thenReturn(true, false, true, false);
+        when(mockResultSet.getObject(1)).thenReturn("Alice");
+        when(mockResultSet.getObject(2)).thenReturn(100000);
+
+        reportService = new ReportService(mockConnectionManager, mockMetricRegistry, Duration.ofMinutes(5));
+    }
+
+    @Test
+    void testScriptsLoadedOnceAtStartup() {
+        verify(mockDialect, times(Report.values().length)).getScript(anyString());
+    }
+
+    @Test
+    void testReportRowsMappedByColumnLabel() {
+        Optional<List<Map<String, Object>>> rows = reportService.getReport(Report.MAX_SALARY_WORKER);
+
+        assertTrue(rows.isPresent());
+        assertEquals(Map.of("name", "Alice", "highest_salary", 100000), rows.get().get(0));
+    }
+
+    @Test
+    void testReportServedFromCacheUntilInvalidated() throws SQLException {
+        reportService.getReport(Report.MAX_SALARY_WORKER);
+        reportService.getReport(Report.MAX_SALARY_WORKER);
+        verify(mockPreparedStatement, times(1)).executeQuery();
+
+        reportService.invalidate("/projects");
+        reportService.getReport(Report.MAX_SALARY_WORKER);
+        verify(mockPreparedStatement, times(1)).executeQuery();
+
+        reportService.invalidate("/workers");
+        reportService.getReport(Report.MAX_SALARY_WORKER);
+        verify(mockPreparedStatement, times(2)).executeQuery();
+    }
+
+    @Test
+    void testReplicaResultsAreNotCached() throws SQLException {
+        when(mockConnectionManager.readsFromPrimary()).thenReturn(false);
+
+        reportService.getReport(Report.MAX_SALARY_WORKER);
+        reportService.getReport(Report.MAX_SALARY_WORKER);
+
+        verify(mockPreparedStatement, times(2)).executeQuery();
+    }
+
+    @Test
+    void testStickyClientBypassesCache() throws SQLException {
+        reportService.getReport(Report.MAX_SALARY_WORKER);
+        when(mockConnectionManager.isStickyToPrimary()).thenReturn(true);
+        reportService.getReport(Report.MAX_SALARY_WORKER);
+
+        verify(mockPreparedStatement, times(2)).executeQuery();
+    }
+
+    @Test
+    void testReportSQLException() throws SQLException {
+        when(mockPreparedStatement.executeQuery()).thenThrow(new SQLException("Database error"));
+
+        assertTrue(reportService.getReport(Report.PROJECT_PRICES).isEmpty());
+    }
+}
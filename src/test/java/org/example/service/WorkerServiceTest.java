@@ -0,0 +1,151 @@
+package org.example.service;
+
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import org.example.crud.BaseService;
+import org.example.crud.EntityPatch;
+import org.example.crud.ProjectPriceView;
+import org.example.crud.WorkerService;
+import org.example.db.ConnectionManager;
+import org.example.db.PostgresDialect;
+import org.example.model.Client;
+import org.example.model.Project;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.sql.*;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class WorkerServiceTest {
+
+    private static final String UPDATE_SALARY = "UPDATE worker SET salary = ? WHERE id = ?";
+    private static final String UPDATE_LEVEL_AND_SALARY = "UPDATE worker SET level = ?, salary = ? WHERE id = ?";
+    private static final String SELECT_WORKERS = "SELECT id, name, birthday, email, level, salary FROM worker WHERE id = ANY(?)";
+
+    private WorkerService workerService;
+    @Mock
+    private ConnectionManager mockConnectionManager;
+    @Mock
+    private MetricRegistry mockMetricRegistry;
+    @Mock
+    private Timer mockTimer;
+    @Mock
+    private Timer.Context mockTimerContext;
+    @Mock
+    private Connection mockConnection;
+    @Mock
+    private PreparedStatement mockSalaryStatement;
+    @Mock
+    private PreparedStatement mockLevelAndSalaryStatement;
+    @Mock
+    private PreparedStatement mockSelectStatement;
+    @Mock
+    private ResultSet mockResultSet;
+    @Mock
+    private BaseService<Project> mockProjectService;
+    @Mock
+    private BaseService<Client> mockClientService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.initMocks(this);
+
+        when(mockConnectionManager.getConnection()).thenReturn(mockConnection);
+        when(mockConnectionManager.getReadConnection()).thenReturn(mockConnection);
+        when(mockConnectionManager.getDialect()).thenReturn(new PostgresDialect());
+        when(mockMetricRegistry.timer(anyString())).thenReturn(mockTimer);
+        when(mockTimer.time()).thenReturn(mockTimerContext);
+        when(mockConnection.prepareStatement(UPDATE_SALARY)).thenReturn(mockSalaryStatement);
+        when(mockConnection.prepareStatement(UPDATE_LEVEL_AND_SALARY)).thenReturn(mockLevelAndSalaryStatement);
+        when(mockConnection.prepareStatement(SELECT_WORKERS)).thenReturn(mockSelectStatement);
+
+        workerService = new WorkerService(mockConnectionManager, mockMetricRegistry);
+    }
+
+    @Test
+    void testPatchAllBatchesPatchesWithTheSameFields() throws SQLException {
+        when(mockSalaryStatement.executeBatch()).thenReturn(new int[]{1});
+        when(mockLevelAndSalaryStatement.executeBatch()).thenReturn(new int[]{1, Statement.SUCCESS_NO_INFO});
+
+        Map<String, Object> salaryFirst = new LinkedHashMap<>();
+        salaryFirst.put("salary", 3000);
+        salaryFirst.put("level", "middle");
+        Optional<Long> updated = workerService.patchAll(List.of(
+                new EntityPatch(1L, Map.of("salary", 2000)),
+                new EntityPatch(2L, Map.of("level", "SENIOR", "salary", 5000)),
+                new EntityPatch(3L, salaryFirst)));
+
+        assertEquals(Optional.of(3L), updated);
+        verify(mockSalaryStatement).setInt(1, 2000);
+        verify(mockSalaryStatement).setLong(2, 1L);
+        verify(mockLevelAndSalaryStatement).setString(1, "Senior");
+        verify(mockLevelAndSalaryStatement).setInt(2, 5000);
+        verify(mockLevelAndSalaryStatement).setString(1, "Middle");
+        verify(mockLevelAndSalaryStatement).setLong(3, 3L);
+        verify(mockLevelAndSalaryStatement, times(2)).addBatch();
+        verify(mockConnection).commit();
+    }
+
+    @Test
+    void testSalaryPatchRepricesProjects() throws SQLException {
+        ProjectPriceView view = new ProjectPriceView(mockConnectionManager, workerService, mockProjectService, mockClientService);
+        // 90 days = 3 months
+        view.projectChanged(1L, new Project(1L, "Alpha", 100L, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 3, 31)));
+        view.workerSalaryChanged(10L, 1000);
+        view.assign(1L, 10L);
+        assertEquals(3000L, view.top(1).get(0).getProject_price());
+
+        when(mockSalaryStatement.executeBatch()).thenReturn(new int[]{1});
+        when(mockSelectStatement.executeQuery()).thenReturn(mockResultSet);
+        when(mockResultSet.next()).thenReturn(true, false);
+        when(mockResultSet.getLong("id")).thenReturn(10L);
+        when(mockResultSet.getString("name")).thenReturn("Alice");
+        when(mockResultSet.getString("level")).thenReturn("Senior");
+        when(mockResultSet.getInt("salary")).thenReturn(2000);
+
+        assertEquals(Optional.of(1L), workerService.patch(10L, Map.of("salary", 2000)));
+
+        assertEquals(6000L, view.top(1).get(0).getProject_price());
+        // Read back on the patch's own connection, never from a replica
+        verify(mockConnectionManager, never()).getReadConnection();
+    }
+
+    @Test
+    void testPatchReturnsEmptyWhenNoRowsUpdated() throws SQLException {
+        when(mockSalaryStatement.executeBatch()).thenReturn(new int[]{0});
+
+        assertTrue(workerService.patch(42L, Map.of("salary", 2000)).isEmpty());
+    }
+
+    @Test
+    void testPatchRejectsUnknownFieldsBeforeConnecting() throws SQLException {
+        assertThrows(IllegalArgumentException.class, () -> workerService.patch(1L, Map.of("id", 7)));
+        assertThrows(IllegalArgumentException.class, () -> workerService.patch(1L, Map.of()));
+
+        verify(mockConnectionManager, never()).getConnection();
+    }
+
+    @Test
+    void testPatchAllRejectsInvalidValuesBeforeConnecting() throws SQLException {
+        List<EntityPatch> patches = List.of(
+                new EntityPatch(1L, Map.of("salary", 2000)),
+                new EntityPatch(2L, Map.of("email", "not-an-address")));
+
+        assertThrows(IllegalArgumentException.class, () -> workerService.patchAll(patches));
+        assertThrows(IllegalArgumentException.class, () -> workerService.patch(1L, Map.of("salary", "2000")));
+        assertThrows(IllegalArgumentException.class, () -> workerService.patch(1L, Map.of("level", "Lead")));
+        assertThrows(IllegalArgumentException.class, () -> workerService.patch(1L, Map.of("dateOfBirth", "01/02/1990")));
+
+        verify(mockConnectionManager, never()).getConnection();
+    }
+}